@@ -0,0 +1,29 @@
+package stringmatching.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: the normal JMH command line, with the GC profiler
+ * always attached so every run reports the allocation rate (gc.alloc.rate.norm = bytes per Solve).
+ *
+ *   java -jar benchmarks/target/benchmarks.jar                       all engines, all shapes
+ *   java -jar benchmarks/target/benchmarks.jar -p algorithm=KMP,GoCrazy -p alphabet=2
+ *   java -jar benchmarks/target/benchmarks.jar WorkloadBenchmark    large synthetic texts (WorkloadGenerator)
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(SolutionBenchmark.class.getSimpleName());
+        }
+        Options options = builder.addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
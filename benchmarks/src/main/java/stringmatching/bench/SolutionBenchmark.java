@@ -0,0 +1,83 @@
+package stringmatching.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.KMP;
+import stringmatching.core.Solution;
+
+/**
+ * Solve(text, pattern) for every engine over text size, pattern size and alphabet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolutionBenchmark {
+
+    @Param({ "Naive", "KMP", "RabinKarp", "BoyerMoore", "GoCrazy" })
+    public String algorithm;
+
+    @Param({ "1024", "65536" })
+    public int textLength;
+
+    @Param({ "4", "16", "64" })
+    public int patternLength;
+
+    // Number of distinct characters, counted from ' ': binary, DNA-like, letters, printable ASCII (' '..'~')
+    @Param({ "2", "4", "26", "95" })
+    public int alphabet;
+
+    private Solution engine;
+    private String text;
+    private String pattern;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = AlgorithmRegistry.get(algorithm);
+
+        // Same inputs for every algorithm: the seed only depends on the shape parameters
+        SplittableRandom random = new SplittableRandom(31L * textLength + 17L * patternLength + alphabet);
+        char[] chars = new char[textLength];
+        for (int i = 0; i < textLength; i++) {
+            chars[i] = (char) (' ' + random.nextInt(alphabet));
+        }
+        text = new String(chars);
+
+        // Pattern taken from the text, so there is at least one match
+        int start = random.nextInt(textLength - patternLength + 1);
+        pattern = text.substring(start, start + patternLength);
+
+        String expected = new KMP().Solve(text, pattern);
+        if (!expected.equals(search())) {
+            throw new IllegalStateException(algorithm + " returned a wrong result, refusing to benchmark it");
+        }
+    }
+
+    @Benchmark
+    public String search() {
+        return engine.Solve(text, pattern);
+    }
+
+    // Same scan without the result String: should allocate nothing per call
+    @Benchmark
+    public int findAll(ThreadWorkspace thread) {
+        return engine.findAll(text, pattern, thread.workspace);
+    }
+}
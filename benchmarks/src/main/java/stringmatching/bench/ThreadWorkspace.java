@@ -0,0 +1,16 @@
+package stringmatching.bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import stringmatching.core.SearchWorkspace;
+
+/**
+ * One SearchWorkspace per benchmark thread: workspaces are not thread-safe,
+ * so they must not live in Scope.Benchmark state when running with -t N.
+ */
+@State(Scope.Thread)
+public class ThreadWorkspace {
+
+    public final SearchWorkspace workspace = new SearchWorkspace();
+}
@@ -0,0 +1,82 @@
+package stringmatching.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.KMP;
+import stringmatching.core.SearchWorkspace;
+import stringmatching.core.Solution;
+import stringmatching.core.WorkloadGenerator;
+
+/**
+ * findAll throughput on large synthetic texts (WorkloadGenerator): realistic,
+ * periodic and adversarial shapes over several alphabets.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar WorkloadBenchmark -p size=64M -p shape=SKIP_WORST
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkloadBenchmark {
+
+    @Param({ "Naive", "KMP", "RabinKarp", "BoyerMoore", "GoCrazy", "HybridSearch" })
+    public String algorithm;
+
+    @Param({ "RANDOM", "MARKOV", "PERIODIC", "FIBONACCI", "NAIVE_WORST", "SKIP_WORST" })
+    public String shape;
+
+    @Param({ "DNA", "ENGLISH" })
+    public String alphabet;
+
+    // Text length, e.g. 1M, 64M, 1G
+    @Param({ "1M" })
+    public String size;
+
+    @Param({ "32" })
+    public int patternLength;
+
+    // Planted matches per 1000 chars
+    @Param({ "0.1" })
+    public double density;
+
+    private Solution engine;
+    private String text;
+    private String pattern;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = AlgorithmRegistry.get(algorithm);
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.Alphabet.valueOf(alphabet),
+                WorkloadGenerator.Shape.valueOf(shape), 42);
+        WorkloadGenerator.Workload workload = generator.generate(0, WorkloadGenerator.parseSize(size),
+                patternLength, density);
+        text = workload.getText();
+        pattern = workload.getPattern();
+
+        int expected = new KMP().findAll(text, pattern, new SearchWorkspace());
+        if (expected != engine.findAll(text, pattern, new SearchWorkspace())) {
+            throw new IllegalStateException(algorithm + " returned a wrong result, refusing to benchmark it");
+        }
+    }
+
+    @Benchmark
+    public int findAll(ThreadWorkspace thread) {
+        return engine.findAll(text, pattern, thread.workspace);
+    }
+}
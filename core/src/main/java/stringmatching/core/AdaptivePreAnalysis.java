@@ -0,0 +1,151 @@
+package stringmatching.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Online adaptive selector (epsilon-greedy multi-armed bandit).
+ *
+ * Inputs are bucketed by (log2 n, log2 m, pattern alphabet size). Per bucket and
+ * algorithm it keeps the number of runs and the total measured time in lock-free
+ * atomic arrays, fed by recordExecution(). Every arm is tried MIN_TRIALS times per
+ * bucket, then the fastest mean is exploited, with EPSILON random exploration so
+ * the choice follows the workload if it drifts.
+ */
+public class AdaptivePreAnalysis extends PreAnalysis {
+
+    static final String[] ALGORITHMS = { "Naive", "KMP", "RabinKarp", "BoyerMoore", "GoCrazy" };
+
+    private static final int N_BUCKETS = 24;       // log2 of text length, capped
+    private static final int M_BUCKETS = 8;        // log2 of pattern length, capped
+    private static final int ALPHABET_BUCKETS = 4; // <=2, <=4, <=16, more distinct pattern chars
+    private static final int MIN_TRIALS = 3;
+    private static final int ALPHABET_INSPECT = 64;
+
+    private final double epsilon;
+    private final AtomicLongArray runs;
+    private final AtomicLongArray totalNanos;
+
+    public AdaptivePreAnalysis() {
+        this(0.05);
+    }
+
+    /**
+     * @param epsilon probability of exploring a random algorithm once every arm has MIN_TRIALS runs
+     */
+    public AdaptivePreAnalysis(double epsilon) {
+        this.epsilon = epsilon;
+        int cells = N_BUCKETS * M_BUCKETS * ALPHABET_BUCKETS * ALGORITHMS.length;
+        this.runs = new AtomicLongArray(cells);
+        this.totalNanos = new AtomicLongArray(cells);
+    }
+
+    @Override
+    public String chooseAlgorithm(String text, String pattern) {
+        int base = bucket(text, pattern) * ALGORITHMS.length;
+
+        // 1) Make sure every arm has been measured a few times in this bucket
+        int leastTried = 0;
+        long leastRuns = Long.MAX_VALUE;
+        for (int a = 0; a < ALGORITHMS.length; a++) {
+            long r = runs.get(base + a);
+            if (r < leastRuns) {
+                leastRuns = r;
+                leastTried = a;
+            }
+        }
+        if (leastRuns < MIN_TRIALS) {
+            return ALGORITHMS[leastTried];
+        }
+
+        // 2) Explore
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < epsilon) {
+            return ALGORITHMS[random.nextInt(ALGORITHMS.length)];
+        }
+
+        // 3) Exploit the lowest mean time
+        return ALGORITHMS[bestArm(base)];
+    }
+
+    @Override
+    public boolean isMemoizable() {
+        return false; // decisions change as the statistics grow
+    }
+
+    @Override
+    public void recordExecution(String text, String pattern, String algorithm, long executionTimeNanos) {
+        int arm = armIndex(algorithm);
+        if (arm < 0 || executionTimeNanos < 0) {
+            return;
+        }
+        int cell = bucket(text, pattern) * ALGORITHMS.length + arm;
+        totalNanos.addAndGet(cell, executionTimeNanos);
+        runs.incrementAndGet(cell);
+    }
+
+    /**
+     * Current best algorithm for an input without exploring (null if the bucket has no data yet)
+     */
+    public String bestKnown(String text, String pattern) {
+        int base = bucket(text, pattern) * ALGORITHMS.length;
+        for (int a = 0; a < ALGORITHMS.length; a++) {
+            if (runs.get(base + a) > 0) {
+                return ALGORITHMS[bestArm(base)];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getStrategyDescription() {
+        return "Adaptive pre-analysis: epsilon-greedy bandit (epsilon=" + epsilon
+                + ") over buckets of (log2 n, log2 m, pattern alphabet), learning from measured execution times.";
+    }
+
+    private int bestArm(int base) {
+        int best = 0;
+        double bestMean = Double.MAX_VALUE;
+        for (int a = 0; a < ALGORITHMS.length; a++) {
+            long r = runs.get(base + a);
+            if (r == 0) continue;
+            double mean = (double) totalNanos.get(base + a) / r;
+            if (mean < bestMean) {
+                bestMean = mean;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    private static int armIndex(String algorithm) {
+        for (int a = 0; a < ALGORITHMS.length; a++) {
+            if (ALGORITHMS[a].equals(algorithm)) return a;
+        }
+        return -1;
+    }
+
+    private static int bucket(String text, String pattern) {
+        int n = text == null ? 0 : text.length();
+        int m = pattern == null ? 0 : pattern.length();
+        int nb = Math.min(N_BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(n));
+        int mb = Math.min(M_BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(m));
+
+        int distinct = m == 0 ? 0 : distinctChars(pattern, Math.min(m, ALPHABET_INSPECT));
+        int ab = distinct <= 2 ? 0 : distinct <= 4 ? 1 : distinct <= 16 ? 2 : 3;
+
+        return (nb * M_BUCKETS + mb) * ALPHABET_BUCKETS + ab;
+    }
+
+    // distinct chars among the first `limit` chars (quadratic, but limit is tiny and nothing is allocated)
+    private static int distinctChars(String s, int limit) {
+        int count = 0;
+        for (int i = 0; i < limit; i++) {
+            char c = s.charAt(i);
+            int j = 0;
+            while (j < i && s.charAt(j) != c) j++;
+            if (j == i && ++count > 16) break; // only the bucket boundaries matter
+        }
+        return count;
+    }
+}
@@ -0,0 +1,96 @@
+package stringmatching.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The search engines compared by the harness, the calibration and the benchmarks.
+ *
+ * Engines are registered explicitly (no class loading side effects, no reflection)
+ * and kept as shared singletons, so they must not hold per-search state. Readers get
+ * an immutable snapshot in registration order; register() publishes a new snapshot,
+ * so lookups never lock and never see a half-built table.
+ */
+public final class AlgorithmRegistry {
+
+    private static final class Snapshot {
+        final List<Solution> engines;
+        final List<String> names;
+        final Map<String, Solution> byName;
+
+        Snapshot(List<Solution> engines) {
+            Map<String, Solution> map = new HashMap<>();
+            List<String> nameList = new ArrayList<>();
+            for (Solution engine : engines) {
+                if (map.putIfAbsent(engine.getName(), engine) != null) {
+                    throw new IllegalArgumentException("Algorithm already registered: " + engine.getName());
+                }
+                nameList.add(engine.getName());
+            }
+            this.engines = List.copyOf(engines);
+            this.names = List.copyOf(nameList);
+            this.byName = map;
+        }
+    }
+
+    // Wildcard and IndexedSearch are left out: the first reinterprets the test
+    // patterns, the second builds a full-text index per text
+    private static volatile Snapshot snapshot = new Snapshot(List.of(
+            new Naive(),
+            new KMP(),
+            new RabinKarp(),
+            new BoyerMoore(),
+            new GoCrazy(),
+            new HybridSearch()));
+
+    private AlgorithmRegistry() {
+    }
+
+    /**
+     * Add an engine after the built-in ones. Its getName() must be unused.
+     */
+    public static synchronized void register(Solution engine) {
+        List<Solution> engines = new ArrayList<>(snapshot.engines);
+        engines.add(engine);
+        snapshot = new Snapshot(engines);
+    }
+
+    /**
+     * All engines in registration order (immutable)
+     */
+    public static List<Solution> all() {
+        return snapshot.engines;
+    }
+
+    /**
+     * All engine names in registration order (immutable)
+     */
+    public static List<String> names() {
+        return snapshot.names;
+    }
+
+    /**
+     * Shared engine instance for name, or null when there is none
+     */
+    public static Solution find(String name) {
+        return snapshot.byName.get(name);
+    }
+
+    /**
+     * Shared engine instance for name
+     * @throws IllegalArgumentException if no engine has that name
+     */
+    public static Solution get(String name) {
+        Solution engine = snapshot.byName.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("Algorithm not found: " + name);
+        }
+        return engine;
+    }
+
+    public static boolean contains(String name) {
+        return snapshot.byName.containsKey(name);
+    }
+}
@@ -0,0 +1,194 @@
+package stringmatching.core;
+
+/**
+ * TODO: Implement Boyer-Moore algorithm
+ * This is a homework assignment for students
+ */
+public class BoyerMoore extends Solution {
+    private final boolean ignoreCase;
+
+    public BoyerMoore() {
+        this(false);
+    }
+
+    /**
+     * @param ignoreCase fold characters inside the comparisons and bad-character lookups
+     */
+    public BoyerMoore(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        int n = text.length();
+        int m = pattern.length();
+
+        // KMP/RabinKarp ile uyumlu: empty pattern her pozisyonda eşleşir
+        if (m == 0) {
+            return addAllPositions(n, ws);
+        }
+
+        if (m > n) {
+            return 0;
+        }
+
+        // Case-insensitive: tables are built on the folded pattern
+        if (ignoreCase) {
+            pattern = ws.foldedPattern(pattern);
+        }
+
+        // 1) Bad character table (last occurrence), only the previous pattern's entries are reset
+        int[] bc = ws.badCharTable(pattern);
+
+        // 2) Good suffix preprocessing
+        int[] suffix = ws.lps(m);         // suffix[k] = pattern içinde suffix uzunluğu k olan eşleşmenin başlangıcı
+        boolean[] prefix = ws.prefix(m);  // prefix[k] = suffix uzunluğu k aynı zamanda prefix mi?
+        generateGoodSuffix(pattern, suffix, prefix);
+
+        return search(text, pattern, bc, suffix, prefix, ws);
+    }
+
+    @Override
+    public PreparedPattern prepare(String pattern) {
+        String p = ignoreCase ? foldCase(pattern) : pattern;
+        int m = p.length();
+        int[] bc = buildBadCharTable(p);
+        int[] suffix = new int[m];
+        boolean[] prefix = new boolean[m];
+        generateGoodSuffix(p, suffix, prefix);
+        long tableBytes = (long) Integer.BYTES * (bc.length + m) + m;
+        return new PreparedPattern(getName(), pattern, tableBytes) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                ws.clearMatches();
+                if (m == 0) return addAllPositions(text.length(), ws);
+                if (m > text.length()) return 0;
+                return search(text, p, bc, suffix, prefix, ws);
+            }
+        };
+    }
+
+    // Scan a text at least as long as the non-empty (already folded) pattern
+    private int search(String text, String pattern, int[] bc, int[] suffix, boolean[] prefix, SearchWorkspace ws) {
+        int n = text.length();
+        int m = pattern.length();
+
+        int i = 0; // text üzerinde kayma
+        while (i <= n - m) {
+            int j;
+
+            // Sağdan sola karşılaştır
+            for (j = m - 1; j >= 0; j--) {
+                if (key(text.charAt(i + j)) != pattern.charAt(j)) break;
+            }
+            if (SearchCounters.ENABLED) ws.counters.compare(j < 0 ? m : m - j);
+
+            if (j < 0) {
+                // Tam eşleşme
+                ws.addMatch(i);
+
+                // Tam eşleşmeden sonra kaydırma: en uzun border (prefix==suffix)
+                int shift = shiftAfterFullMatch(m, prefix);
+                if (SearchCounters.ENABLED) ws.counters.shift(shift);
+                i += shift;
+            } else {
+                // Bad character shift
+                char bad = key(text.charAt(i + j));
+                int bcShift = j - bc[bad & 0xFFFF];
+                if (bcShift < 1) bcShift = 1;
+
+                // Good suffix shift
+                int gsShift = moveByGoodSuffix(j, m, suffix, prefix);
+
+                if (SearchCounters.ENABLED) {
+                    ws.counters.shiftRule(bcShift, gsShift);
+                    ws.counters.shift(Math.max(bcShift, gsShift));
+                }
+                i += Math.max(bcShift, gsShift);
+            }
+        }
+
+        return ws.matchCount();
+    }
+
+    // ----------------- Bad Character -----------------
+    private int[] buildBadCharTable(String pattern) {
+        int[] bc = new int[65536]; // Java char aralığı
+        for (int i = 0; i < bc.length; i++) bc[i] = -1;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            bc[pattern.charAt(i) & 0xFFFF] = i;
+        }
+        return bc;
+    }
+
+    // ----------------- Good Suffix Preprocess -----------------
+    private void generateGoodSuffix(String pattern, int[] suffix, boolean[] prefix) {
+        int m = pattern.length();
+        for (int i = 0; i < m; i++) {
+            suffix[i] = -1;
+            prefix[i] = false;
+        }
+
+        // i: pattern içinde "suffix matching" başlatacağımız yer
+        for (int i = 0; i < m - 1; i++) {
+            int j = i;
+            int k = 0; // eşleşen suffix uzunluğu
+
+            // pattern[j] ile pattern[m-1-k] eşleştiği sürece geri git
+            while (j >= 0 && pattern.charAt(j) == pattern.charAt(m - 1 - k)) {
+                j--;
+                k++;
+                suffix[k] = j + 1; // uzunluk k olan suffix'in pattern içindeki başlangıcı
+            }
+
+            // Eğer j == -1 ise: pattern’in prefix’i aynı zamanda suffix oldu
+            if (j == -1) {
+                prefix[k] = true;
+            }
+        }
+    }
+
+    // mismatch index j iken (0..m-1), good suffix kaydırması
+    private int moveByGoodSuffix(int j, int m, int[] suffix, boolean[] prefix) {
+        int k = m - 1 - j; // good suffix uzunluğu
+        if (k <= 0) return 1;
+
+        // Case 1: pattern içinde aynı suffix var
+        if (suffix[k] != -1) {
+            return j - suffix[k] + 1;
+        }
+
+        // Case 2: suffix'in bir parçası pattern'in prefix'i olabilir mi?
+        for (int r = j + 2; r <= m - 1; r++) {
+            int len = m - r; // prefix uzunluğu
+            if (prefix[len]) {
+                return r;
+            }
+        }
+
+        // Case 3: hiçbir şey yoksa komple kaydır
+        return m;
+    }
+
+    // Tam eşleşmeden sonra kaydırma (border kullan)
+    private int shiftAfterFullMatch(int m, boolean[] prefix) {
+        // m-1'den 1'e kadar en uzun prefix==suffix uzunluğunu bul
+        for (int k = m - 1; k >= 1; k--) {
+            if (prefix[k]) {
+                return m - k;
+            }
+        }
+        return m;
+    }
+
+    private char key(char c) {
+        return ignoreCase ? foldCase(c) : c;
+    }
+}
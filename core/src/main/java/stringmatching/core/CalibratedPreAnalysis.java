@@ -0,0 +1,128 @@
+package stringmatching.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-analysis driven by a per-machine cost model fitted by 'ManualTest calibrate'
+ * (see CostModelCalibration). Predicts the time of every algorithm for (n, m, text
+ * alphabet class, pattern periodicity) and picks the cheapest. Falls back to
+ * StudentPreAnalysis when no model file is available.
+ */
+public class CalibratedPreAnalysis extends PreAnalysis {
+
+    static final int PERIOD_CHECK = 8; // periods 1..8 are checked for periodicity
+
+    private final List<String> algorithms = new ArrayList<>();
+    private final List<double[][][]> coefficients = new ArrayList<>(); // [alphabetClass][periodic][c0..c3]
+    private final PreAnalysis fallback = new StudentPreAnalysis();
+    private final String source;
+
+    public CalibratedPreAnalysis() {
+        this(CostModelCalibration.resolveModelFile(CostModelCalibration.DEFAULT_MODEL_FILE));
+    }
+
+    public CalibratedPreAnalysis(Path modelFile) {
+        String loadedFrom = null;
+        if (Files.exists(modelFile)) {
+            try {
+                load(modelFile);
+                loadedFrom = modelFile.toString();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: could not read cost model " + modelFile + ": " + e.getMessage());
+                algorithms.clear();
+                coefficients.clear();
+            }
+        } else {
+            System.err.println("Warning: cost model " + modelFile + " not found, run 'ManualTest calibrate' first");
+        }
+        source = loadedFrom;
+    }
+
+    public boolean isCalibrated() {
+        return !algorithms.isEmpty();
+    }
+
+    /**
+     * Only the calibrated model is memoizable: its text features are the length and
+     * the sampled alphabet class, which PatternCache keys on. The fallback is not.
+     */
+    @Override
+    public boolean isMemoizable() {
+        return isCalibrated();
+    }
+
+    @Override
+    public String chooseAlgorithm(String text, String pattern) {
+        if (!isCalibrated()) {
+            return fallback.chooseAlgorithm(text, pattern);
+        }
+        if (text == null) text = "";
+        if (pattern == null) pattern = "";
+
+        int n = text.length();
+        int m = pattern.length();
+        int alphabetClass = CostModelCalibration.alphabetClass(TextSample.of(text).distinct);
+        int periodic = isPeriodic(pattern) ? 1 : 0;
+        double byM = (double) n / Math.max(1, m);
+
+        String best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (int a = 0; a < algorithms.size(); a++) {
+            double[] c = coefficients.get(a)[alphabetClass][periodic];
+            if (c == null) continue;
+            double cost = c[0] + c[1] * n + c[2] * byM + c[3] * Math.max(1, m);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = algorithms.get(a);
+            }
+        }
+        return best != null ? best : fallback.chooseAlgorithm(text, pattern);
+    }
+
+    @Override
+    public String getStrategyDescription() {
+        return isCalibrated()
+                ? "Calibrated pre-analysis: per-machine cost model (" + source + "), choose the lowest predicted time."
+                : "Calibrated pre-analysis (no cost model found, using StudentPreAnalysis).";
+    }
+
+    // pattern repeats with a short period (e.g. "abababa"), checked on a bounded prefix;
+    // CostModelCalibration labels its samples with the same test
+    static boolean isPeriodic(String p) {
+        int m = Math.min(p.length(), StudentPreAnalysis.MAX_INSPECT);
+        for (int period = 1; period <= PERIOD_CHECK && 2 * period <= m; period++) {
+            if (p.regionMatches(period, p, 0, m - period)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void load(Path file) throws IOException {
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            if (parts.length != 7) {
+                throw new IllegalArgumentException("Invalid cost model line: " + line);
+            }
+            int index = algorithms.indexOf(parts[0]);
+            if (index < 0) {
+                algorithms.add(parts[0]);
+                coefficients.add(new double[4][2][]);
+                index = algorithms.size() - 1;
+            }
+            int alphabetClass = Integer.parseInt(parts[1]);
+            int periodic = Integer.parseInt(parts[2]);
+            coefficients.get(index)[alphabetClass][periodic] = new double[] {
+                    Double.parseDouble(parts[3]), Double.parseDouble(parts[4]),
+                    Double.parseDouble(parts[5]), Double.parseDouble(parts[6]) };
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package stringmatching.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Code-point-correct wrapper around any Solution.
+ *
+ * The engines compare UTF-16 chars, so a pattern containing surrogates can match
+ * half of a surrogate pair (e.g. half of an emoji). This wrapper drops every match
+ * that starts or ends inside a pair and can report code-point offsets as well.
+ *
+ * Fast path: a non-empty pattern without surrogates can never start or end inside
+ * a pair, so the delegate result is returned as-is; code-point offsets are only
+ * translated when the text actually contains surrogates.
+ */
+public class CodePointSearch extends Solution {
+
+    private final Solution delegate;
+
+    public CodePointSearch() {
+        this(new KMP());
+    }
+
+    public CodePointSearch(Solution delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return Comma-separated char offsets of all matches that lie on code point boundaries
+     */
+    @Override
+    public String Solve(String text, String pattern) {
+        String raw = delegate.Solve(text, pattern);
+        if (!pattern.isEmpty() && !hasSurrogates(pattern)) {
+            return raw;
+        }
+        return indicesToString(filterBoundaries(text, pattern.length(), parseIndices(raw)));
+    }
+
+    /**
+     * Same matches as Solve, reported as code-point offsets instead of char offsets
+     */
+    public String solveCodePoints(String text, String pattern) {
+        List<Integer> charOffsets = parseIndices(Solve(text, pattern));
+        if (!hasSurrogates(text)) {
+            return indicesToString(charOffsets); // BMP-only: char offset == code point offset
+        }
+
+        // Offsets are increasing, so one forward pass converts all of them
+        List<Integer> codePointOffsets = new ArrayList<>(charOffsets.size());
+        int charPos = 0;
+        int codePoints = 0;
+        for (int offset : charOffsets) {
+            codePoints += text.codePointCount(charPos, offset);
+            charPos = offset;
+            codePointOffsets.add(codePoints);
+        }
+        return indicesToString(codePointOffsets);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + "(code points)";
+    }
+
+    /**
+     * True if offset k does not split a surrogate pair
+     */
+    static boolean isBoundary(String text, int k) {
+        return k <= 0 || k >= text.length()
+                || !(Character.isHighSurrogate(text.charAt(k - 1)) && Character.isLowSurrogate(text.charAt(k)));
+    }
+
+    static boolean hasSurrogates(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Integer> filterBoundaries(String text, int m, List<Integer> offsets) {
+        List<Integer> valid = new ArrayList<>(offsets.size());
+        for (int offset : offsets) {
+            if (isBoundary(text, offset) && isBoundary(text, offset + m)) {
+                valid.add(offset);
+            }
+        }
+        return valid;
+    }
+
+    private static List<Integer> parseIndices(String result) {
+        List<Integer> indices = new ArrayList<>();
+        if (result.isEmpty()) {
+            return indices;
+        }
+        int value = 0;
+        for (int i = 0; i < result.length(); i++) {
+            char c = result.charAt(i);
+            if (c == ',') {
+                indices.add(value);
+                value = 0;
+            } else {
+                value = value * 10 + (c - '0');
+            }
+        }
+        indices.add(value);
+        return indices;
+    }
+}
@@ -0,0 +1,251 @@
+package stringmatching.core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Offline calibration of per-machine cost models for algorithm selection.
+ *
+ * Generates a grid of synthetic inputs over text length, pattern length, alphabet
+ * size and periodicity, times every registered Solution on each input and fits a
+ * least-squares model per (algorithm, alphabet class, periodicity):
+ *
+ *     time(n, m) ~ c0 + c1 * n + c2 * n / m + c3 * m
+ *
+ * The fit is weighted by 1/time^2, i.e. it minimizes relative error, so small
+ * inputs are modelled as well as large ones. The model file is read by
+ * CalibratedPreAnalysis.
+ *
+ * Samples are labelled with the features the predictor sees at runtime: the
+ * alphabet class of the sampled text (TextSample.distinct) and whether the pattern
+ * is periodic (CalibratedPreAnalysis.isPeriodic), not with the generator's
+ * parameters. Cells no sample falls into are left out of the model.
+ */
+public class CostModelCalibration {
+
+    public static final String DEFAULT_MODEL_FILE = "costmodel.txt";
+
+    private static final int[] TEXT_LENGTHS = { 64, 256, 1024, 4096, 16384, 65536 };
+    private static final int[] PATTERN_LENGTHS = { 1, 3, 8, 16, 64 };
+    private static final int[] ALPHABETS = { 2, 4, 26, 95 };
+    private static final int RUNS = 7;
+
+    /**
+     * Receives calibration progress (the library itself prints nothing)
+     */
+    public interface Progress {
+        void gridPointsDone(int done, int total);
+    }
+
+    /**
+     * One timed grid point
+     */
+    static class Sample {
+        final String algorithm;
+        final int alphabetClass;
+        final boolean periodic;
+        final int n;
+        final int m;
+        final double nanos;
+
+        Sample(String algorithm, int alphabetClass, boolean periodic, int n, int m, double nanos) {
+            this.algorithm = algorithm;
+            this.alphabetClass = alphabetClass;
+            this.periodic = periodic;
+            this.n = n;
+            this.m = m;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Run the grid, fit the models and write them to modelFile
+     * @param progress told the number of grid points done after each block of the grid
+     * @return the number of (algorithm, alphabet class, periodicity) models written
+     */
+    public static int calibrate(Path modelFile, Progress progress) throws IOException {
+        List<Solution> solutions = AlgorithmRegistry.all();
+
+        List<Sample> samples = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+        int points = 0;
+        int total = TEXT_LENGTHS.length * PATTERN_LENGTHS.length * ALPHABETS.length * 2;
+
+        for (int alphabet : ALPHABETS) {
+            for (int periodic = 0; periodic < 2; periodic++) {
+                for (int n : TEXT_LENGTHS) {
+                    for (int m : PATTERN_LENGTHS) {
+                        points++;
+                        if (m > n) continue;
+                        String text = randomText(random, n, alphabet, periodic == 1);
+                        int start = periodic == 1 ? 0 : random.nextInt(n - m + 1);
+                        String pattern = text.substring(start, start + m);
+                        int textClass = alphabetClass(TextSample.of(text).distinct);
+                        boolean periodicPattern = CalibratedPreAnalysis.isPeriodic(pattern);
+
+                        for (Solution solution : solutions) {
+                            double nanos = time(solution, text, pattern);
+                            if (nanos >= 0) {
+                                samples.add(new Sample(solution.getName(), textClass, periodicPattern, n, m, nanos));
+                            }
+                        }
+                    }
+                }
+                progress.gridPointsDone(points, total);
+            }
+        }
+
+        List<String> model = fit(samples, solutions);
+        writeModel(modelFile, model);
+        return model.size();
+    }
+
+    /**
+     * Alphabet size -> model class (0: <=2, 1: <=4, 2: <=26, 3: larger)
+     */
+    static int alphabetClass(int alphabetSize) {
+        if (alphabetSize <= 2) return 0;
+        if (alphabetSize <= 4) return 1;
+        if (alphabetSize <= 26) return 2;
+        return 3;
+    }
+
+    static double[] features(int n, int m) {
+        int mm = Math.max(1, m);
+        return new double[] { 1.0, n, (double) n / mm, mm };
+    }
+
+    // Median of RUNS timed runs after a warm-up; -1 if the algorithm is not implemented
+    private static double time(Solution solution, String text, String pattern) {
+        try {
+            for (int i = 0; i < 3; i++) solution.Solve(text, pattern);
+            long[] runs = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                solution.Solve(text, pattern);
+                runs[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(runs);
+            return runs[RUNS / 2];
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static String randomText(SplittableRandom random, int n, int alphabet, boolean periodic) {
+        char[] chars = new char[n];
+        if (periodic) {
+            // short random period repeated, e.g. "abcabcabc..."; periods up to the
+            // predictor's PERIOD_CHECK, so periodic texts reach the larger alphabet classes too
+            int period = 1 + random.nextInt(CalibratedPreAnalysis.PERIOD_CHECK);
+            for (int i = 0; i < n; i++) {
+                chars[i] = i < period ? (char) (' ' + random.nextInt(alphabet)) : chars[i - period];
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                chars[i] = (char) (' ' + random.nextInt(alphabet));
+            }
+        }
+        return new String(chars);
+    }
+
+    // Weighted least squares per (algorithm, alphabet class, periodic) cell
+    private static List<String> fit(List<Sample> samples, List<Solution> solutions) {
+        List<String> lines = new ArrayList<>();
+        for (Solution solution : solutions) {
+            String algorithm = solution.getName();
+            for (int alphabetClass = 0; alphabetClass < 4; alphabetClass++) {
+                for (int periodic = 0; periodic < 2; periodic++) {
+                    double[][] ata = new double[4][4];
+                    double[] atb = new double[4];
+                    int count = 0;
+                    for (Sample sample : samples) {
+                        if (!sample.algorithm.equals(algorithm) || sample.alphabetClass != alphabetClass
+                                || sample.periodic != (periodic == 1)) {
+                            continue;
+                        }
+                        double[] x = features(sample.n, sample.m);
+                        double w = 1.0 / (sample.nanos * sample.nanos + 1.0);
+                        for (int i = 0; i < 4; i++) {
+                            atb[i] += w * x[i] * sample.nanos;
+                            for (int j = 0; j < 4; j++) {
+                                ata[i][j] += w * x[i] * x[j];
+                            }
+                        }
+                        count++;
+                    }
+                    if (count < 4) continue;
+
+                    double[] c = solve(ata, atb);
+                    lines.add(String.format(Locale.ROOT, "%s %d %d %.6e %.6e %.6e %.6e",
+                            algorithm, alphabetClass, periodic, c[0], c[1], c[2], c[3]));
+                }
+            }
+        }
+        return lines;
+    }
+
+    // Gaussian elimination with partial pivoting and a tiny ridge term for stability
+    private static double[] solve(double[][] a, double[] b) {
+        int k = b.length;
+        double[][] m = new double[k][k + 1];
+        for (int i = 0; i < k; i++) {
+            System.arraycopy(a[i], 0, m[i], 0, k);
+            m[i][i] += 1e-12 * (1.0 + Math.abs(a[i][i]));
+            m[i][k] = b[i];
+        }
+        for (int col = 0; col < k; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < k; r++) {
+                if (Math.abs(m[r][col]) > Math.abs(m[pivot][col])) pivot = r;
+            }
+            double[] tmp = m[col]; m[col] = m[pivot]; m[pivot] = tmp;
+            if (m[col][col] == 0) continue;
+            for (int r = 0; r < k; r++) {
+                if (r == col) continue;
+                double f = m[r][col] / m[col][col];
+                for (int c = col; c <= k; c++) {
+                    m[r][c] -= f * m[col][c];
+                }
+            }
+        }
+        double[] x = new double[k];
+        for (int i = 0; i < k; i++) {
+            x[i] = m[i][i] == 0 ? 0 : m[i][k] / m[i][i];
+        }
+        return x;
+    }
+
+    private static void writeModel(Path file, List<String> lines) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# String matching cost model: algorithm alphabetClass periodic c0 c1 c2 c3");
+            out.newLine();
+            out.write("# time_ns(n, m) = c0 + c1*n + c2*n/m + c3*m ; generated by 'ManualTest calibrate'");
+            out.newLine();
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Resolve the model file like the test cases: current directory first, then parent
+     */
+    static Path resolveModelFile(String name) {
+        Path path = Paths.get(name);
+        if (!Files.exists(path) && Files.exists(Paths.get("..", name))) {
+            path = Paths.get("..", name);
+        }
+        return path;
+    }
+}
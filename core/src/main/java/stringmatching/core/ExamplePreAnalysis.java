@@ -0,0 +1,42 @@
+package stringmatching.core;
+
+/**
+ * Example implementation showing how pre-analysis could work
+ * This is for demonstration purposes
+ */
+public class ExamplePreAnalysis extends PreAnalysis {
+
+    @Override
+    public String chooseAlgorithm(String text, String pattern) {
+        int textLen = text.length();
+        int patternLen = pattern.length();
+
+        // Simple heuristic example
+        if (patternLen <= 3) {
+            return "Naive"; // For very short patterns, naive is often fastest
+        } else if (hasRepeatingPrefix(pattern)) {
+            return "KMP"; // KMP is good for patterns with repeating prefixes
+        } else if (patternLen > 10 && textLen > 1000) {
+            return "RabinKarp"; // RabinKarp can be good for long patterns in long texts
+        } else {
+            return "Naive"; // Default to naive for other cases
+        }
+    }
+
+    private boolean hasRepeatingPrefix(String pattern) {
+        if (pattern.length() < 2) return false;
+
+        // Check if first character repeats
+        char first = pattern.charAt(0);
+        int count = 0;
+        for (int i = 0; i < Math.min(pattern.length(), 5); i++) {
+            if (pattern.charAt(i) == first) count++;
+        }
+        return count >= 3;
+    }
+
+    @Override
+    public String getStrategyDescription() {
+        return "Example strategy: Choose based on pattern length and characteristics";
+    }
+}
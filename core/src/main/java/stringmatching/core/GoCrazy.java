@@ -0,0 +1,176 @@
+package stringmatching.core;
+
+/**
+ * TODO: Implement your own creative string matching algorithm
+ * This is a homework assignment for students
+ * Be creative! Try to make it efficient for specific cases
+ */
+/**
+ * Task 2: Implement Your Own Algorithm
+ * Algorithm: Hybrid Sunday-QuickSearch
+ * * Strategy:
+ * 1. Small Pattern Heuristic: If pattern length <= 5, overhead of pre-processing
+ * arrays is too high. Use a simplified Naive approach.
+ * 2. Sunday's Algorithm: For larger patterns, look at the character *after* * the current window to decide how far to jump. This often allows larger
+ * shifts than KMP or standard Boyer-Moore.
+ */
+public class GoCrazy extends Solution {
+    private final boolean ignoreCase;
+
+    public GoCrazy() {
+        this(false);
+    }
+
+    /**
+     * @param ignoreCase fold characters inside the comparisons and shift lookups
+     */
+    public GoCrazy(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        int n = text.length();
+        int m = pattern.length();
+
+        // 1. Edge Case: Empty pattern matches everywhere
+        if (m == 0) {
+            return addAllPositions(n, ws);
+        }
+
+        // 2. Edge Case: Pattern longer than text
+        if (m > n) {
+            return 0;
+        }
+
+        // Case-insensitive: fold the pattern once, text chars are folded when read
+        if (ignoreCase) {
+            pattern = ws.foldedPattern(pattern);
+        }
+
+        // 3. HYBRID STRATEGY
+        // If the pattern is very short, the overhead of creating arrays
+        // slows us down. Use a "Fast Naive" approach instead.
+        if (m <= 5) {
+            return solveFastNaive(text, pattern, n, m, ws);
+        }
+
+        // 4. MAIN ALGORITHM: Sunday's Algorithm (Quick Search)
+        return search(text, pattern, buildShiftTable(pattern, ws.shiftTable()), ws);
+    }
+
+    @Override
+    public PreparedPattern prepare(String pattern) {
+        String p = ignoreCase ? foldCase(pattern) : pattern;
+        int m = p.length();
+        int[] shift = m > 5 ? buildShiftTable(p, new int[256]) : null;
+        return new PreparedPattern(getName(), pattern, shift == null ? 0 : (long) Integer.BYTES * shift.length) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                int n = text.length();
+                ws.clearMatches();
+                if (m == 0) return addAllPositions(n, ws);
+                if (m > n) return 0;
+                return shift == null ? solveFastNaive(text, p, n, m, ws) : search(text, p, shift, ws);
+            }
+        };
+    }
+
+    // Pre-processing for Sunday's Shift
+    // We use an array for ASCII (size 256), filled in place.
+    private int[] buildShiftTable(String pattern, int[] shift) {
+        int m = pattern.length();
+
+        // Default shift is m + 1 (jump past the whole pattern + 1)
+        for (int k = 0; k < 256; k++) {
+            shift[k] = m + 1;
+        }
+
+        // Populate shift table based on pattern
+        // shift[c] = distance from character c to the END of the pattern
+        for (int k = 0; k < m; k++) {
+            char c = pattern.charAt(k);
+            if (c < 256) {
+                shift[c] = m - k;
+            }
+        }
+        return shift;
+    }
+
+    // Sunday scan of a text at least as long as the (already folded) pattern, m > 5
+    private int search(String text, String pattern, int[] shift, SearchWorkspace ws) {
+        int n = text.length();
+        int m = pattern.length();
+
+        int i = 0;
+        while (i <= n - m) {
+            // Check for match at current position i
+            int j = 0;
+            while (j < m && key(text.charAt(i + j)) == pattern.charAt(j)) {
+                j++;
+            }
+            if (SearchCounters.ENABLED) ws.counters.compare(j < m ? j + 1 : m);
+
+            // If we found a full match
+            if (j == m) {
+                ws.addMatch(i);
+            }
+
+            // SHIFT LOGIC (Sunday's Trick)
+            // Instead of looking at the mismatch inside the pattern (like BM),
+            // look at the character in the text right AFTER the pattern.
+            if (i + m < n) {
+                char nextChar = key(text.charAt(i + m));
+                int distance = nextChar < 256 ? shift[nextChar] : 1; // 1: fallback for non-ASCII characters
+                if (SearchCounters.ENABLED) ws.counters.shift(distance);
+                i += distance;
+            } else {
+                break; // End of text
+            }
+        }
+
+        return ws.matchCount();
+    }
+
+    /**
+     * Optimized Naive for short strings.
+     * Avoids array allocation overhead.
+     */
+    private int solveFastNaive(String text, String pattern, int n, int m, SearchWorkspace ws) {
+        char first = pattern.charAt(0);
+        // Loop through text
+        for (int i = 0; i <= n - m; i++) {
+            if (SearchCounters.ENABLED) ws.counters.shift(1);
+            // Quick check: only proceed if first char matches
+            if (key(text.charAt(i)) != first) {
+                if (SearchCounters.ENABLED) ws.counters.compare(1);
+                continue;
+            }
+
+            // Standard check
+            int j = 1;
+            while (j < m) {
+                if (key(text.charAt(i + j)) != pattern.charAt(j)) {
+                    break;
+                }
+                j++;
+            }
+            if (SearchCounters.ENABLED) ws.counters.compare(j < m ? j + 1 : m);
+
+            if (j == m) {
+                ws.addMatch(i);
+            }
+        }
+        return ws.matchCount();
+    }
+
+    private char key(char c) {
+        return ignoreCase ? foldCase(c) : c;
+    }
+}
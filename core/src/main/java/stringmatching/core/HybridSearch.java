@@ -0,0 +1,330 @@
+package stringmatching.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hybrid engine that re-decides between skipping and linear scanning while it runs.
+ *
+ * The text is processed in blocks of candidate start positions. Each block runs
+ * either in SKIP mode (Sunday / GoCrazy-style shifts) or in LINEAR mode (KMP).
+ * At every block boundary the engine looks at the progress it made:
+ *
+ *   SKIP   -> LINEAR  when the text advanced by less than MIN_PROGRESS chars per
+ *                      character comparison (short shifts, long verifications)
+ *   LINEAR -> SKIP    when a probe of the next block predicts at least PROBE_PROGRESS
+ *                      chars per comparison: the probed average shift divided by the
+ *                      cost of a window, 1 + (probed first-char hit rate) x (comparisons
+ *                      per verification observed in the last SKIP block)
+ *
+ * So a text whose shifts look long again but whose windows keep verifying long
+ * prefixes (e.g. a long run of one pattern char) stays in LINEAR mode.
+ *
+ * Switching never loses or repeats a match: KMP in state (t, j) has ruled out every
+ * start before t - j and reported every match ending before t, so SKIP resumes at
+ * start t - j; SKIP hands over at its next candidate start with j = 0.
+ */
+public class HybridSearch extends Solution {
+    private static final int MIN_BLOCK = 1024;
+    private static final double MIN_PROGRESS = 1.0;
+    private static final double PROBE_PROGRESS = 3.0;
+    private static final int PROBES = 16;
+
+    /**
+     * Counters of one scan, for reports (see ManualTest hybrid)
+     */
+    public static final class Stats {
+        int skipBlocks;
+        int linearBlocks;
+        int switches;
+        long windows;       // SKIP windows examined
+        long verifications; // SKIP windows whose first char matched
+        long comparisons;   // char comparisons in both modes
+
+        public int getSkipBlocks() {
+            return skipBlocks;
+        }
+
+        public int getLinearBlocks() {
+            return linearBlocks;
+        }
+
+        public int getSwitches() {
+            return switches;
+        }
+
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        public double verificationRate() {
+            return windows == 0 ? 0 : (double) verifications / windows;
+        }
+
+        void reset() {
+            skipBlocks = 0;
+            linearBlocks = 0;
+            switches = 0;
+            windows = 0;
+            verifications = 0;
+            comparisons = 0;
+        }
+    }
+
+    public HybridSearch() {
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        return search(text, pattern, null, ws);
+    }
+
+    /**
+     * Run the hybrid scan, optionally filling stats
+     */
+    public static List<Integer> search(String text, String pattern, Stats stats) {
+        SearchWorkspace ws = SearchWorkspace.current();
+        int count = search(text, pattern, stats, ws);
+        List<Integer> indices = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            indices.add(ws.matches()[k]);
+        }
+        return indices;
+    }
+
+    /**
+     * Run the hybrid scan into ws, optionally filling stats
+     * @return the number of matches
+     */
+    public static int search(String text, String pattern, Stats stats, SearchWorkspace ws) {
+        ws.clearMatches();
+        int n = text.length();
+        int m = pattern.length();
+
+        // Empty pattern matches at every position, like the other engines
+        if (m == 0) {
+            return addAllPositions(n, ws);
+        }
+        if (m > n) {
+            return 0;
+        }
+        if (stats == null) {
+            stats = ws.hybridStats;
+            stats.reset();
+        }
+
+        Tables tables = ws.hybridTables;
+        if (tables == null) {
+            tables = new Tables();
+            ws.hybridTables = tables;
+        }
+        tables.reset(pattern);
+        int block = Math.max(MIN_BLOCK, 4 * m);
+        int last = n - m; // last candidate start
+        boolean skip = true;
+        int i = 0;        // next candidate start not yet ruled out
+        double verifyCost = 1.0; // comparisons per verification in the last SKIP block
+
+        while (i <= last) {
+            int blockEnd = Math.min(last + 1, i + block);
+            if (skip) {
+                stats.skipBlocks++;
+                long comparisonsBefore = stats.comparisons;
+                long windowsBefore = stats.windows;
+                long verificationsBefore = stats.verifications;
+                int start = i;
+                i = skipBlock(text, pattern, tables, i, blockEnd, ws, stats);
+                long used = Math.max(1, stats.comparisons - comparisonsBefore);
+                long verifications = stats.verifications - verificationsBefore;
+                if (verifications > 0) {
+                    // every window costs one first-char comparison, the rest is verification
+                    verifyCost = (double) (used - (stats.windows - windowsBefore)) / verifications;
+                }
+                if ((double) (i - start) / used < MIN_PROGRESS) {
+                    skip = false;
+                    stats.switches++;
+                }
+            } else {
+                stats.linearBlocks++;
+                i = linearBlock(text, pattern, tables.lps, i, blockEnd, ws, stats);
+                if (i <= last && probeProgress(text, pattern, tables, i, verifyCost) >= PROBE_PROGRESS) {
+                    skip = true;
+                    stats.switches++;
+                }
+            }
+        }
+        return ws.matchCount();
+    }
+
+    // Sunday scan of the starts [i, blockEnd); returns the next start to examine
+    private static int skipBlock(String text, String pattern, Tables tables, int i, int blockEnd,
+                                 SearchWorkspace ws, Stats stats) {
+        int n = text.length();
+        int m = pattern.length();
+        int[] shift = tables.shift;
+        char first = pattern.charAt(0);
+        long windows = 0;
+        long verifications = 0;
+        long comparisons = 0;
+        while (i < blockEnd) {
+            windows++;
+            comparisons++;
+            if (text.charAt(i) == first) {
+                verifications++;
+                int j = 1;
+                while (j < m && text.charAt(i + j) == pattern.charAt(j)) {
+                    j++;
+                }
+                comparisons += j < m ? j : m - 1;
+                if (j == m) {
+                    ws.addMatch(i);
+                }
+            }
+            if (i + m >= n) {
+                i = n; // last window done
+                break;
+            }
+            char next = text.charAt(i + m);
+            int distance = next < 256 ? shift[next] : tables.highShift(next);
+            if (SearchCounters.ENABLED) ws.counters.shift(distance);
+            i += distance;
+        }
+        stats.windows += windows;
+        stats.verifications += verifications;
+        stats.comparisons += comparisons;
+        if (SearchCounters.ENABLED) ws.counters.compare(comparisons);
+        return i;
+    }
+
+    // KMP from start i with empty state until the candidate start reaches blockEnd;
+    // returns the first start not yet ruled out (t - j)
+    private static int linearBlock(String text, String pattern, int[] lps, int i, int blockEnd,
+                                   SearchWorkspace ws, Stats stats) {
+        int n = text.length();
+        int m = pattern.length();
+        int t = i;
+        int j = 0;
+        long comparisons = 0;
+        while (t < n && t - j < blockEnd) {
+            comparisons++;
+            if (text.charAt(t) == pattern.charAt(j)) {
+                t++;
+                j++;
+                if (j == m) {
+                    ws.addMatch(t - m);
+                    if (SearchCounters.ENABLED) ws.counters.shift(j - lps[j - 1]);
+                    j = lps[j - 1];
+                }
+            } else if (j > 0) {
+                if (SearchCounters.ENABLED) ws.counters.shift(j - lps[j - 1]);
+                j = lps[j - 1];
+            } else {
+                if (SearchCounters.ENABLED) ws.counters.shift(1);
+                t++;
+            }
+        }
+        stats.comparisons += comparisons;
+        if (SearchCounters.ENABLED) ws.counters.compare(comparisons);
+        return t == n ? n : t - j;
+    }
+
+    // Predicted SKIP progress (chars per comparison) from a few evenly spaced windows
+    // ahead of start i: average Sunday shift over the expected cost of a window
+    private static double probeProgress(String text, String pattern, Tables tables, int i, double verifyCost) {
+        int n = text.length();
+        int m = pattern.length();
+        char first = pattern.charAt(0);
+        int span = Math.max(1, Math.min(MIN_BLOCK, n - i - m) / PROBES);
+        long total = 0;
+        int hits = 0;
+        int probes = 0;
+        for (int k = i + m; k < n && probes < PROBES; k += span) {
+            total += tables.shift(text.charAt(k));
+            if (text.charAt(k - m) == first) hits++;
+            probes++;
+        }
+        if (probes == 0) {
+            return 0;
+        }
+        double windowCost = 1.0 + (double) hits / probes * verifyCost;
+        return (double) total / probes / windowCost;
+    }
+
+    /**
+     * Sunday shifts for the whole char range and the KMP failure function.
+     * Kept in a SearchWorkspace and rebuilt in place (grow-only arrays) per pattern.
+     */
+    static final class Tables {
+        final int[] shift = new int[256];
+        char[] highChars = new char[0]; // sorted distinct pattern chars >= 256, first highCount valid
+        int[] highShifts = new int[0];
+        int highCount;
+        int[] lps = new int[0];
+        int m;
+
+        void reset(String pattern) {
+            m = pattern.length();
+            Arrays.fill(shift, m + 1);
+            if (highChars.length < m) {
+                highChars = new char[Math.max(m, 2 * highChars.length)];
+                highShifts = new int[highChars.length];
+                lps = new int[highChars.length];
+            }
+
+            char[] high = highChars;
+            int count = 0;
+            for (int k = 0; k < m; k++) {
+                char c = pattern.charAt(k);
+                if (c < 256) {
+                    shift[c] = m - k;
+                } else {
+                    high[count++] = c;
+                }
+            }
+            Arrays.sort(high, 0, count);
+            int distinct = 0;
+            for (int k = 0; k < count; k++) {
+                if (distinct == 0 || high[distinct - 1] != high[k]) high[distinct++] = high[k];
+            }
+            highCount = distinct;
+            Arrays.fill(highShifts, 0, distinct, m + 1);
+            for (int k = 0; k < m; k++) {
+                char c = pattern.charAt(k);
+                if (c >= 256) {
+                    highShifts[Arrays.binarySearch(highChars, 0, distinct, c)] = m - k;
+                }
+            }
+
+            lps[0] = 0;
+            int len = 0;
+            for (int k = 1; k < m; ) {
+                if (pattern.charAt(k) == pattern.charAt(len)) {
+                    lps[k++] = ++len;
+                } else if (len > 0) {
+                    len = lps[len - 1];
+                } else {
+                    lps[k++] = 0;
+                }
+            }
+        }
+
+        int shift(char c) {
+            return c < 256 ? shift[c] : highShift(c);
+        }
+
+        int highShift(char c) {
+            int k = highCount == 0 ? -1 : Arrays.binarySearch(highChars, 0, highCount, c);
+            return k >= 0 ? highShifts[k] : m + 1;
+        }
+
+        long retainedBytes() {
+            return Integer.BYTES * (256L + highShifts.length + lps.length) + 2L * highChars.length;
+        }
+    }
+}
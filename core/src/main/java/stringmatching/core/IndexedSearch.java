@@ -0,0 +1,39 @@
+package stringmatching.core;
+
+/**
+ * Indexed backend: answers Solve from a suffix automaton instead of scanning.
+ * The index for the most recent text is kept, so repeated queries against the
+ * same corpus (same String instance) skip the O(n) build and cost O(m log σ + occ).
+ */
+public class IndexedSearch extends Solution {
+    // Immutable (text, index) pair, replaced atomically so instances can be shared
+    private volatile SuffixAutomaton index;
+
+    public IndexedSearch() {
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        SuffixAutomaton sa = indexFor(text);
+        int[] starts = sa.findAll(pattern);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < starts.length; i++) {
+            if (i > 0) sb.append(",");
+            sb.append(starts[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Index for text, reusing the previous one when the corpus has not changed
+     */
+    public SuffixAutomaton indexFor(String text) {
+        SuffixAutomaton sa = index;
+        if (sa == null || sa.getText() != text) {
+            sa = SuffixAutomaton.build(text);
+            index = sa;
+        }
+        return sa;
+    }
+}
@@ -0,0 +1,20 @@
+package stringmatching.core;
+
+/**
+ * Instructor's pre-analysis implementation (for testing purposes only)
+ * Students should NOT modify this class
+ */
+public class InstructorPreAnalysis extends PreAnalysis {
+
+    @Override
+    public String chooseAlgorithm(String text, String pattern) {
+        // This is a placeholder for instructor testing
+        // Students should focus on implementing StudentPreAnalysis
+        return null;
+    }
+
+    @Override
+    public String getStrategyDescription() {
+        return "Instructor's testing implementation";
+    }
+}
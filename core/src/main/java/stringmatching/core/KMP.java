@@ -0,0 +1,121 @@
+package stringmatching.core;
+
+public class KMP extends Solution {
+    private final boolean ignoreCase;
+
+    public KMP() {
+        this(false);
+    }
+
+    /**
+     * @param ignoreCase fold characters inside the comparisons instead of lowercasing the text
+     */
+    public KMP(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        int m = pattern.length();
+
+        // Handle empty pattern - matches at every position
+        if (m == 0) {
+            return addAllPositions(text.length(), ws);
+        }
+
+        // Case-insensitive: fold the (short) pattern once per pattern, fold text chars on the fly
+        if (ignoreCase) {
+            pattern = ws.foldedPattern(pattern);
+        }
+
+        // Compute LPS (Longest Proper Prefix which is also Suffix) array
+        int[] lps = computeLPS(pattern, ws.lps(m));
+
+        return search(text, pattern, lps, ws);
+    }
+
+    @Override
+    public PreparedPattern prepare(String pattern) {
+        String p = ignoreCase ? foldCase(pattern) : pattern;
+        int[] lps = p.isEmpty() ? new int[0] : computeLPS(p, new int[p.length()]);
+        return new PreparedPattern(getName(), pattern, (long) Integer.BYTES * lps.length) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                ws.clearMatches();
+                if (p.isEmpty()) return addAllPositions(text.length(), ws);
+                return search(text, p, lps, ws);
+            }
+        };
+    }
+
+    // Scan the text with a non-empty (already folded) pattern and its LPS table
+    private int search(String text, String pattern, int[] lps, SearchWorkspace ws) {
+        int n = text.length();
+        int m = pattern.length();
+
+        int i = 0; // index for text
+        int j = 0; // index for pattern
+
+        while (i < n) {
+            if (SearchCounters.ENABLED) ws.counters.compare(1);
+            if (key(text.charAt(i)) == pattern.charAt(j)) {
+                i++;
+                j++;
+            }
+
+            if (j == m) {
+                ws.addMatch(i - j);
+                if (SearchCounters.ENABLED) ws.counters.shift(j - lps[j - 1]);
+                j = lps[j - 1];
+            } else if (i < n && key(text.charAt(i)) != pattern.charAt(j)) {
+                if (SearchCounters.ENABLED) {
+                    ws.counters.compare(1);
+                    ws.counters.shift(j != 0 ? j - lps[j - 1] : 1);
+                }
+                if (j != 0) {
+                    j = lps[j - 1];
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        return ws.matchCount();
+    }
+
+    // Fill lps[0 .. m) for the non-empty pattern
+    private int[] computeLPS(String pattern, int[] lps) {
+        int m = pattern.length();
+        int len = 0;
+        int i = 1;
+
+        lps[0] = 0;
+
+        while (i < m) {
+            if (pattern.charAt(i) == pattern.charAt(len)) {
+                len++;
+                lps[i] = len;
+                i++;
+            } else {
+                if (len != 0) {
+                    len = lps[len - 1];
+                } else {
+                    lps[i] = 0;
+                    i++;
+                }
+            }
+        }
+
+        return lps;
+    }
+
+    private char key(char c) {
+        return ignoreCase ? foldCase(c) : c;
+    }
+}
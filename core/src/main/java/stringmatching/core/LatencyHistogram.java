@@ -0,0 +1,117 @@
+package stringmatching.core;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * Values below 32 ns get a bucket each; above that every power of two is split
+ * into 32 equal sub-buckets, so a reported percentile is within about 3% of the
+ * true value. Every bucket is a LongAdder, so concurrent record() calls from
+ * many threads neither lock nor contend on a single cache line. Values above
+ * one hour land in the last bucket (max() stays exact). Reads are not atomic
+ * snapshots: a percentile taken while other threads record may mix old and new
+ * counts, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final long HIGHEST = 3_600_000_000_000L; // 1 hour in ns
+    private static final int BUCKETS = index(HIGHEST) + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one value in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        buckets[index(Math.min(v, HIGHEST))].increment();
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    // Bucket of a value in [0, HIGHEST]
+    private static int index(long v) {
+        if (v < SUB_COUNT) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((v >>> shift) - SUB_COUNT);
+    }
+
+    // Smallest value of a bucket, and the number of values it covers
+    private static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        return (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+    }
+
+    private static long width(int index) {
+        return index < SUB_COUNT ? 1 : 1L << (index / SUB_COUNT - 1);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Value at quantile q (0..1), as the middle of its bucket; 0 when empty
+     */
+    public long percentile(double q) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(lowerBound(i) + width(i) / 2, max());
+            }
+        }
+        return max();
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,36 @@
+package stringmatching.core;
+
+public class Naive extends Solution {
+    public Naive() {
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        int n = text.length();
+        int m = pattern.length();
+
+        for (int i = 0; i <= n - m; i++) {
+            int j;
+            for (j = 0; j < m; j++) {
+                if (text.charAt(i + j) != pattern.charAt(j)) {
+                    break;
+                }
+            }
+            if (SearchCounters.ENABLED) {
+                ws.counters.compare(j < m ? j + 1 : m);
+                ws.counters.shift(1);
+            }
+            if (j == m) {
+                ws.addMatch(i);
+            }
+        }
+
+        return ws.matchCount();
+    }
+}
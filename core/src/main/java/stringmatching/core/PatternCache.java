@@ -0,0 +1,215 @@
+package stringmatching.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Memoizes pre-analysis decisions together with the prepared pattern tables.
+ *
+ * Workloads often search the same pattern in many texts. The key is
+ * (pre-analysis strategy, pattern, log2 of the text length, sampled alphabet class),
+ * so a repeated pattern skips both chooseAlgorithm and the table construction (LPS,
+ * bad character / good suffix, Sunday shifts, pattern hash). Texts of a very
+ * different size or alphabet (binary, DNA, letters, wider) get their own decision.
+ *
+ * Strategies that learn from every run or read finer text features
+ * (isMemoizable() == false) are still asked each time; only their prepared tables
+ * are reused.
+ *
+ * The cache is bounded by the estimated bytes of the prepared tables. When the cap
+ * is exceeded the least recently used entries are evicted (approximate LRU: one
+ * thread sorts by last access while the others keep going without waiting) until
+ * the cache is down to 7/8 of the cap, so the sort is paid once per many inserts
+ * rather than on every miss of a full cache.
+ */
+public class PatternCache {
+
+    /**
+     * (strategy, pattern, text bucket: size bucket and alphabet class)
+     */
+    private static final class Key {
+        final String strategy;
+        final String pattern;
+        final int textBucket;
+        final int hash;
+
+        Key(String strategy, String pattern, int textBucket) {
+            this.strategy = strategy;
+            this.pattern = pattern;
+            this.textBucket = textBucket;
+            this.hash = (strategy.hashCode() * 31 + pattern.hashCode()) * 31 + textBucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return textBucket == other.textBucket && strategy.equals(other.strategy) && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final PreparedPattern prepared;
+        final long bytes;
+        volatile long lastAccess;
+
+        Entry(PreparedPattern prepared, long lastAccess) {
+            this.prepared = prepared;
+            this.bytes = prepared.estimatedBytes() + 96; // key + entry + map node
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final long maxBytes;
+    private final long lowWaterBytes; // eviction stops here
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes upper bound for the estimated size of all cached tables
+     */
+    public PatternCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.lowWaterBytes = maxBytes - maxBytes / 8;
+    }
+
+    /**
+     * Decide the algorithm for (text, pattern) and return its prepared pattern,
+     * from the cache when possible.
+     * @param factory creates a Solution from an algorithm name (only called on a miss)
+     * @return The prepared pattern (getAlgorithmName() is the decision), or null if the
+     *         strategy made no choice
+     */
+    public PreparedPattern get(PreAnalysis preAnalysis, String text, String pattern,
+                               Function<String, Solution> factory) {
+        String strategy = preAnalysis.getClass().getName();
+        Key key;
+        if (preAnalysis.isMemoizable()) {
+            key = new Key(strategy, pattern, textBucket(text));
+        } else {
+            String algorithm = preAnalysis.chooseAlgorithm(text, pattern);
+            if (algorithm == null) {
+                return null;
+            }
+            key = new Key("#" + algorithm, pattern, 0);
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = clock.incrementAndGet();
+            return entry.prepared;
+        }
+
+        misses.increment();
+        String algorithm = key.strategy.startsWith("#")
+                ? key.strategy.substring(1)
+                : preAnalysis.chooseAlgorithm(text, pattern);
+        if (algorithm == null) {
+            return null; // no decision -> nothing to cache
+        }
+
+        PreparedPattern prepared = factory.apply(algorithm).prepare(pattern);
+        Entry created = new Entry(prepared, clock.incrementAndGet());
+        if (created.bytes > maxBytes) {
+            return prepared; // too big to be worth caching
+        }
+
+        Entry previous = entries.putIfAbsent(key, created);
+        if (previous != null) {
+            return previous.prepared; // another thread was faster
+        }
+        if (totalBytes.addAndGet(created.bytes) > maxBytes) {
+            evict();
+        }
+        return prepared;
+    }
+
+    // Remove the least recently used entries until the cache is down to the low-water mark
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // someone else is already evicting
+        }
+        try {
+            if (totalBytes.get() <= maxBytes) {
+                return;
+            }
+            List<Map.Entry<Key, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            snapshot.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<Key, Entry> e : snapshot) {
+                if (totalBytes.get() <= lowWaterBytes) {
+                    break;
+                }
+                if (entries.remove(e.getKey(), e.getValue())) {
+                    totalBytes.addAndGet(-e.getValue().bytes);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // floor(log2(n)), so each bucket covers a factor of two in text length,
+    // times the alphabet class of the bounded text sample
+    private static int textBucket(String text) {
+        int sizeBucket = 31 - Integer.numberOfLeadingZeros(Math.max(1, text.length()));
+        return sizeBucket * 4 + CostModelCalibration.alphabetClass(TextSample.of(text).distinct);
+    }
+
+    public void clear() {
+        entries.clear();
+        totalBytes.set(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long estimatedBytes() {
+        return totalBytes.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PatternCache: %d entries, %d / %d bytes, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                size(), estimatedBytes(), maxBytes, getHits(), getMisses(), hitRate() * 100, getEvictions());
+    }
+}
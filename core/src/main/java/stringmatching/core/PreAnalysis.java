@@ -0,0 +1,52 @@
+package stringmatching.core;
+
+/**
+ * PreAnalysis interface for students to implement their algorithm selection logic
+ * 
+ * Students should analyze the characteristics of the text and pattern to determine
+ * which algorithm would be most efficient for the given input.
+ * 
+ * The system will automatically use this analysis if the chooseAlgorithm method
+ * returns a non-null value.
+ */
+public abstract class PreAnalysis {
+    
+    /**
+     * Analyze the text and pattern to choose the best algorithm
+     * 
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return The name of the algorithm to use (e.g., "Naive", "KMP", "RabinKarp", "BoyerMoore", "GoCrazy")
+     *         Return null if you want to skip pre-analysis and run all algorithms
+     * 
+     * Tips for students:
+     * - Consider the length of the text and pattern
+     * - Consider the characteristics of the pattern (repeating characters, etc.)
+     * - Consider the alphabet size
+     * - Think about which algorithm performs best in different scenarios
+     */
+    public abstract String chooseAlgorithm(String text, String pattern);
+    
+    /**
+     * Get a description of your analysis strategy
+     * This will be displayed in the output
+     */
+    public abstract String getStrategyDescription();
+
+    /**
+     * Feedback after the chosen algorithm has run.
+     * The runners call this with the measured execution time; static strategies
+     * ignore it, learning strategies (see AdaptivePreAnalysis) update their statistics.
+     */
+    public void recordExecution(String text, String pattern, String algorithm, long executionTimeNanos) {
+    }
+
+    /**
+     * True if a decision may be reused for other texts with the same pattern, a similar
+     * size and the same sampled alphabet class (see PatternCache). Learning strategies
+     * and strategies that read finer text features return false.
+     */
+    public boolean isMemoizable() {
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package stringmatching.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one pre-analysis decision (PreAnalysisPolicy.choose / choosePrepared).
+ *
+ * Default threshold 100 us, so only decisions that cost noticeable time are
+ * recorded; set stringmatching.PreAnalysis#threshold to 0 ms to see them all.
+ */
+@Name("stringmatching.PreAnalysis")
+@Label("Pre-Analysis Decision")
+@Category("String Matching")
+@Description("Algorithm choice of a PreAnalysis for one text and pattern")
+@Threshold("100 us")
+@StackTrace(false)
+public final class PreAnalysisEvent extends Event {
+
+    static final EventType TYPE = EventType.getEventType(PreAnalysisEvent.class);
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Chosen Algorithm")
+    String chosenAlgorithm;
+
+    @Label("Text Length")
+    int textLength;
+
+    @Label("Pattern Length")
+    int patternLength;
+
+    @Label("Skipped")
+    @Description("Text below the policy's skipBelow, fallback algorithm used without analysis")
+    boolean skipped;
+}
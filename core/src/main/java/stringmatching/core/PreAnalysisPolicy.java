@@ -0,0 +1,150 @@
+package stringmatching.core;
+
+import java.util.function.Function;
+
+import jdk.jfr.EventType;
+
+/**
+ * When to run pre-analysis at all.
+ *
+ * For short texts chooseAlgorithm can cost more than any algorithm choice can save,
+ * so texts shorter than skipBelow characters go straight to a fixed fallback
+ * algorithm. TestRunner and PreAnalysisComparison both ask the current policy.
+ *
+ * The policy is also the one place decisions are recorded: choose and
+ * choosePrepared each emit one PreAnalysisEvent (when a recording asks for it) and
+ * count one decision in SearchMetrics (when metrics are on) per call, so Flight
+ * Recorder and the metrics report see the same decisions.
+ *
+ * Configuration (system properties, read at startup; ManualTest preanalysis N also sets it):
+ *   -Dpreanalysis.skipBelow=N      skip pre-analysis for texts shorter than N chars (default 0 = never)
+ *   -Dpreanalysis.fallback=NAME    algorithm used when skipping (default GoCrazy)
+ */
+public final class PreAnalysisPolicy {
+
+    public static final String SKIP_BELOW_PROPERTY = "preanalysis.skipBelow";
+    public static final String FALLBACK_PROPERTY = "preanalysis.fallback";
+    public static final String DEFAULT_FALLBACK = "GoCrazy";
+
+    // Registering the event type costs tens of ms once; do it when the policy class
+    // loads rather than inside the first (timed) decision
+    private static final EventType EVENT_TYPE = PreAnalysisEvent.TYPE;
+
+    private static volatile PreAnalysisPolicy current = fromSystemProperties();
+
+    private final int skipBelow;
+    private final String fallbackAlgorithm;
+
+    public PreAnalysisPolicy(int skipBelow, String fallbackAlgorithm) {
+        if (skipBelow < 0) {
+            throw new IllegalArgumentException("skipBelow must not be negative: " + skipBelow);
+        }
+        this.skipBelow = skipBelow;
+        this.fallbackAlgorithm = fallbackAlgorithm;
+    }
+
+    static PreAnalysisPolicy fromSystemProperties() {
+        int skipBelow = Integer.getInteger(SKIP_BELOW_PROPERTY, 0);
+        String fallback = System.getProperty(FALLBACK_PROPERTY, DEFAULT_FALLBACK);
+        return new PreAnalysisPolicy(Math.max(0, skipBelow), fallback);
+    }
+
+    /**
+     * The policy the runners enforce
+     */
+    public static PreAnalysisPolicy current() {
+        return current;
+    }
+
+    public static void setCurrent(PreAnalysisPolicy policy) {
+        current = policy;
+    }
+
+    /**
+     * True if pre-analysis should run for this text
+     */
+    public boolean shouldAnalyze(String text) {
+        return text.length() >= skipBelow;
+    }
+
+    /**
+     * The pre-analysis decision, or the fallback algorithm for texts below the threshold.
+     * Emits a PreAnalysisEvent when a Flight Recorder recording asks for it, and
+     * counts the decision in SearchMetrics when metrics are on.
+     */
+    public String choose(PreAnalysis preAnalysis, String text, String pattern) {
+        boolean metrics = SearchMetrics.isEnabled();
+        if (!EVENT_TYPE.isEnabled() && !metrics) {
+            return shouldAnalyze(text) ? preAnalysis.chooseAlgorithm(text, pattern) : fallbackAlgorithm;
+        }
+        PreAnalysisEvent event = new PreAnalysisEvent();
+        event.begin();
+        boolean analyze = shouldAnalyze(text);
+        String choice = analyze ? preAnalysis.chooseAlgorithm(text, pattern) : fallbackAlgorithm;
+        event.end();
+        record(event, metrics, preAnalysis, choice, text, pattern, !analyze);
+        return choice;
+    }
+
+    /**
+     * The same decision as choose, returned as the chosen algorithm's prepared pattern.
+     * Analyzed texts go through the cache (a hit skips chooseAlgorithm and the table
+     * construction for memoizable strategies); skipped texts prepare the fallback.
+     * Hits, misses and skips are recorded alike, one decision per call; the event's
+     * duration includes building the tables on a miss.
+     * @param factory creates a Solution from an algorithm name
+     * @return The prepared pattern, or null if the strategy made no choice
+     */
+    public PreparedPattern choosePrepared(PreAnalysis preAnalysis, PatternCache cache, String text, String pattern,
+                                          Function<String, Solution> factory) {
+        boolean metrics = SearchMetrics.isEnabled();
+        if (!EVENT_TYPE.isEnabled() && !metrics) {
+            return prepare(preAnalysis, cache, text, pattern, factory, shouldAnalyze(text));
+        }
+        PreAnalysisEvent event = new PreAnalysisEvent();
+        event.begin();
+        boolean analyze = shouldAnalyze(text);
+        PreparedPattern prepared = prepare(preAnalysis, cache, text, pattern, factory, analyze);
+        event.end();
+        record(event, metrics, preAnalysis, prepared == null ? null : prepared.getAlgorithmName(),
+                text, pattern, !analyze);
+        return prepared;
+    }
+
+    private PreparedPattern prepare(PreAnalysis preAnalysis, PatternCache cache, String text, String pattern,
+                                    Function<String, Solution> factory, boolean analyze) {
+        return analyze
+                ? cache.get(preAnalysis, text, pattern, factory)
+                : factory.apply(fallbackAlgorithm).prepare(pattern);
+    }
+
+    private static void record(PreAnalysisEvent event, boolean metrics, PreAnalysis preAnalysis, String choice,
+                               String text, String pattern, boolean skipped) {
+        if (metrics) {
+            SearchMetrics.global().recordDecision(preAnalysis.getClass().getSimpleName(), choice, skipped);
+        }
+        if (event.shouldCommit()) {
+            event.strategy = preAnalysis.getClass().getSimpleName();
+            event.chosenAlgorithm = choice;
+            event.textLength = text.length();
+            event.patternLength = pattern.length();
+            event.skipped = skipped;
+            event.commit();
+        }
+    }
+
+    public int getSkipBelow() {
+        return skipBelow;
+    }
+
+    public String getFallbackAlgorithm() {
+        return fallbackAlgorithm;
+    }
+
+    @Override
+    public String toString() {
+        return skipBelow == 0
+                ? "pre-analysis for every text"
+                : "skip pre-analysis below " + skipBelow + " chars (use " + fallbackAlgorithm + ")";
+    }
+}
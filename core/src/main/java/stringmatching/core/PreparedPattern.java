@@ -0,0 +1,54 @@
+package stringmatching.core;
+
+/**
+ * A pattern together with the tables an algorithm built for it (LPS array,
+ * bad-character / good-suffix tables, Sunday shifts, pattern hash...).
+ * Created by Solution.prepare(pattern) and reusable for any number of texts.
+ * Instances are immutable and can be shared between threads.
+ */
+public abstract class PreparedPattern {
+    private final String algorithmName;
+    private final String pattern;
+    private final long tableBytes;
+
+    protected PreparedPattern(String algorithmName, String pattern, long tableBytes) {
+        this.algorithmName = algorithmName;
+        this.pattern = pattern;
+        this.tableBytes = tableBytes;
+    }
+
+    // Non-capturing, so solve allocates no lambda
+    private static final Solution.Scan<PreparedPattern> SCAN = (prepared, text, pattern, ws) -> prepared.findAll(text, ws);
+
+    /**
+     * Search the prepared pattern in text, with the calling thread's workspace.
+     * Instrumented like Solve (SearchEvent, SearchMetrics), see Solution.instrumentedSearch.
+     * @param text The text to search in
+     * @return Comma-separated string of indices, same format as Solution.Solve
+     */
+    public final String solve(String text) {
+        return Solution.instrumentedSearch(algorithmName, this, SCAN, text, pattern);
+    }
+
+    /**
+     * Find all occurrences with the prepared tables, like Solution.findAll:
+     * positions go to ws.matches()[0 .. count), valid until the next search with ws.
+     * @return the number of matches
+     */
+    public abstract int findAll(String text, SearchWorkspace ws);
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Approximate heap size of the pattern and its tables, used by PatternCache
+     */
+    public long estimatedBytes() {
+        return 64 + 2L * pattern.length() + tableBytes;
+    }
+}
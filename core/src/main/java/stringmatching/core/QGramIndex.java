@@ -0,0 +1,382 @@
+package stringmatching.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * q-gram inverted index over a growing collection of short documents.
+ *
+ * Every q-gram maps to a posting list of (docId, offset) pairs stored as
+ * delta-varint bytes. A search picks the rarest q-gram of the pattern, turns its
+ * postings into candidate start positions, and runs an exact engine (KMP by default,
+ * or BoyerMoore) only on the candidate regions of the candidate documents.
+ *
+ * Documents can be added at any time; the index can be saved to and loaded from a
+ * compact binary file (same delta-varint encoding as in memory).
+ */
+public class QGramIndex {
+
+    private static final int MAGIC = 0x51474931; // "QGI1"
+
+    /**
+     * One match: document id and char offset inside that document
+     */
+    public static class Hit {
+        final int docId;
+        final int offset;
+
+        public Hit(int docId, int offset) {
+            this.docId = docId;
+            this.offset = offset;
+        }
+
+        public int getDocId() {
+            return docId;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        @Override
+        public String toString() {
+            return docId + ":" + offset;
+        }
+    }
+
+    private final int q;
+    private final Solution verifier;
+    private final List<String> documents = new ArrayList<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    /**
+     * @param q gram length, 1..4 (a gram is packed into one long key)
+     * @param verifier exact engine used on candidate regions, e.g. new KMP() or new BoyerMoore()
+     */
+    public QGramIndex(int q, Solution verifier) {
+        if (q < 1 || q > 4) {
+            throw new IllegalArgumentException("q must be between 1 and 4: " + q);
+        }
+        this.q = q;
+        this.verifier = verifier;
+    }
+
+    public QGramIndex(int q) {
+        this(q, new KMP());
+    }
+
+    /**
+     * Add a document and index its q-grams
+     * @return The id of the new document
+     */
+    public int addDocument(String document) {
+        int docId = documents.size();
+        documents.add(document);
+        for (int offset = 0; offset + q <= document.length(); offset++) {
+            postings.computeIfAbsent(gramKey(document, offset), k -> new PostingList()).add(docId, offset);
+        }
+        return docId;
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    public String getDocument(int docId) {
+        return documents.get(docId);
+    }
+
+    /**
+     * Find all occurrences of pattern in all documents, ordered by (docId, offset)
+     */
+    public List<Hit> search(String pattern) {
+        List<Hit> hits = new ArrayList<>();
+        int m = pattern.length();
+
+        // Too short to use the index: plain scan of every document
+        if (m < q) {
+            for (int docId = 0; docId < documents.size(); docId++) {
+                verifyRegion(docId, 0, documents.get(docId).length(), pattern, hits);
+            }
+            return hits;
+        }
+
+        // Rarest gram of the pattern gives the fewest candidates
+        int bestK = -1;
+        PostingList best = null;
+        for (int k = 0; k + q <= m; k++) {
+            PostingList list = postings.get(gramKey(pattern, k));
+            if (list == null) {
+                return hits; // a gram that never occurs -> no match anywhere
+            }
+            if (best == null || list.count < best.count) {
+                best = list;
+                bestK = k;
+            }
+        }
+
+        // Every real match contains the chosen gram at start + bestK, so the candidate
+        // starts are complete; nearby candidates are merged into one verification region.
+        PostingList.Cursor cursor = best.cursor();
+        int regionDoc = -1;
+        int regionStart = 0;
+        int regionEnd = 0;
+        while (cursor.next()) {
+            int docId = cursor.docId;
+            int start = cursor.offset - bestK;
+            if (start < 0 || start + m > documents.get(docId).length()) {
+                continue;
+            }
+            if (docId == regionDoc && start <= regionEnd) {
+                regionEnd = start + m;
+                continue;
+            }
+            if (regionDoc >= 0) {
+                verifyRegion(regionDoc, regionStart, regionEnd, pattern, hits);
+            }
+            regionDoc = docId;
+            regionStart = start;
+            regionEnd = start + m;
+        }
+        if (regionDoc >= 0) {
+            verifyRegion(regionDoc, regionStart, regionEnd, pattern, hits);
+        }
+        return hits;
+    }
+
+    private void verifyRegion(int docId, int from, int to, String pattern, List<Hit> hits) {
+        String region = documents.get(docId).substring(from, to);
+        String result = verifier.Solve(region, pattern);
+        if (result.isEmpty()) {
+            return;
+        }
+        int value = 0;
+        for (int i = 0; i < result.length(); i++) {
+            char c = result.charAt(i);
+            if (c == ',') {
+                hits.add(new Hit(docId, from + value));
+                value = 0;
+            } else {
+                value = value * 10 + (c - '0');
+            }
+        }
+        hits.add(new Hit(docId, from + value));
+    }
+
+    private long gramKey(String s, int offset) {
+        long key = 0;
+        for (int i = 0; i < q; i++) {
+            key = (key << 16) | s.charAt(offset + i);
+        }
+        return key;
+    }
+
+    // ----------------- on-disk format -----------------
+    //
+    // int    magic "QGI1"
+    // byte   q
+    // varint documentCount, then per document: varint byteLength, UTF-8 bytes
+    // varint gramCount, then per gram:
+    //        varint key, varint count, varint lastDoc, varint lastOffset,
+    //        varint byteLength, posting bytes (delta-varint, see PostingList)
+
+    /**
+     * Write the index to a file
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(q);
+
+            writeVarint(out, documents.size());
+            for (String document : documents) {
+                byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.write(bytes);
+            }
+
+            writeVarint(out, postings.size());
+            for (Map.Entry<Long, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue();
+                writeVarLong(out, entry.getKey());
+                writeVarint(out, list.count);
+                writeVarint(out, list.lastDoc);
+                writeVarint(out, list.lastOffset);
+                writeVarint(out, list.size);
+                out.write(list.data, 0, list.size);
+            }
+        }
+    }
+
+    /**
+     * Read an index written by save(); more documents can be added afterwards
+     */
+    public static QGramIndex load(Path file, Solution verifier) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a q-gram index file: " + file);
+            }
+            QGramIndex index = new QGramIndex(in.readByte(), verifier);
+
+            int documentCount = readVarint(in);
+            for (int i = 0; i < documentCount; i++) {
+                byte[] bytes = new byte[readVarint(in)];
+                in.readFully(bytes);
+                index.documents.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            int gramCount = readVarint(in);
+            for (int i = 0; i < gramCount; i++) {
+                long key = readVarLong(in);
+                PostingList list = new PostingList();
+                list.count = readVarint(in);
+                list.lastDoc = readVarint(in);
+                list.lastOffset = readVarint(in);
+                list.size = readVarint(in);
+                list.data = new byte[Math.max(8, list.size)];
+                in.readFully(list.data, 0, list.size);
+                index.postings.put(key, list);
+            }
+            return index;
+        }
+    }
+
+    public static QGramIndex load(Path file) throws IOException {
+        return load(file, new KMP());
+    }
+
+    /**
+     * Total bytes used by all posting lists (compressed)
+     */
+    public long postingBytes() {
+        long total = 0;
+        for (PostingList list : postings.values()) {
+            total += list.size;
+        }
+        return total;
+    }
+
+    static void writeVarint(OutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static int readVarint(InputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new IOException("Unexpected end of varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Posting list of one gram, as delta-varint bytes.
+     * Each entry is varint(docId - previousDocId) followed by varint(offset), where the
+     * offset is relative to the previous offset when the doc id did not change.
+     */
+    static final class PostingList {
+        byte[] data = new byte[8];
+        int size;
+        int count;
+        int lastDoc;
+        int lastOffset;
+
+        void add(int docId, int offset) {
+            boolean sameDoc = count > 0 && docId == lastDoc;
+            put(docId - (count > 0 ? lastDoc : 0));
+            put(sameDoc ? offset - lastOffset : offset);
+            lastDoc = docId;
+            lastOffset = offset;
+            count++;
+        }
+
+        private void put(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        Cursor cursor() {
+            return new Cursor(this);
+        }
+
+        /**
+         * Sequential decoder over a posting list
+         */
+        static final class Cursor {
+            private final PostingList list;
+            private int pos;
+            private int read;
+            int docId;
+            int offset;
+
+            Cursor(PostingList list) {
+                this.list = list;
+            }
+
+            boolean next() {
+                if (read == list.count) {
+                    return false;
+                }
+                int docDelta = get();
+                int offsetValue = get();
+                if (read > 0 && docDelta == 0) {
+                    offset += offsetValue;
+                } else {
+                    docId += docDelta;
+                    offset = offsetValue;
+                }
+                read++;
+                return true;
+            }
+
+            private int get() {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = list.data[pos++];
+                    value |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                return value;
+            }
+        }
+    }
+}
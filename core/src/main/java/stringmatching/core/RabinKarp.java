@@ -0,0 +1,112 @@
+package stringmatching.core;
+
+public class RabinKarp extends Solution {
+    public RabinKarp() {
+    }
+
+    private static final int PRIME = 101; // A prime number for hashing
+    private static final int D = 256; // Number of characters in the input alphabet
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return solveInWorkspace(text, pattern);
+    }
+
+    @Override
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        int n = text.length();
+        int m = pattern.length();
+
+        // Handle empty pattern - matches at every position
+        if (m == 0) {
+            return addAllPositions(n, ws);
+        }
+
+        if (m > n) {
+            return 0;
+        }
+
+        return search(text, pattern, hashOf(pattern), highestPower(m), ws);
+    }
+
+    @Override
+    public PreparedPattern prepare(String pattern) {
+        int m = pattern.length();
+        long patternHash = hashOf(pattern);
+        long h = highestPower(m);
+        return new PreparedPattern(getName(), pattern, 2L * Long.BYTES) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                ws.clearMatches();
+                if (m == 0) return addAllPositions(text.length(), ws);
+                if (m > text.length()) return 0;
+                return search(text, pattern, patternHash, h, ws);
+            }
+        };
+    }
+
+    // Calculate h = d^(m-1) % PRIME
+    private static long highestPower(int m) {
+        long h = 1;
+        for (int i = 0; i < m - 1; i++) {
+            h = (h * D) % PRIME;
+        }
+        return h;
+    }
+
+    private static long hashOf(String pattern) {
+        long patternHash = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            patternHash = (D * patternHash + pattern.charAt(i)) % PRIME;
+        }
+        return patternHash;
+    }
+
+    // Slide over a text at least as long as the non-empty pattern
+    private int search(String text, String pattern, long patternHash, long h, SearchWorkspace ws) {
+        int n = text.length();
+        int m = pattern.length();
+        int d = D;
+        long textHash = 0;
+
+        // Calculate hash value for first window of text
+        for (int i = 0; i < m; i++) {
+            textHash = (d * textHash + text.charAt(i)) % PRIME;
+        }
+
+        // Slide the pattern over text one by one
+        for (int i = 0; i <= n - m; i++) {
+            // Check if hash values match
+            if (patternHash == textHash) {
+                // Check characters one by one
+                boolean match = true;
+                int j;
+                for (j = 0; j < m; j++) {
+                    if (text.charAt(i + j) != pattern.charAt(j)) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (SearchCounters.ENABLED) ws.counters.compare(match ? m : j + 1);
+                if (SearchCounters.ENABLED) ws.counters.hashHit(match);
+                if (match) {
+                    ws.addMatch(i);
+                }
+            }
+            if (SearchCounters.ENABLED) ws.counters.shift(1);
+
+            // Calculate hash value for next window
+            if (i < n - m) {
+                textHash = (d * (textHash - text.charAt(i) * h) + text.charAt(i + m)) % PRIME;
+
+                // Convert negative hash to positive
+                if (textHash < 0) {
+                    textHash = textHash + PRIME;
+                }
+            }
+        }
+
+        return ws.matchCount();
+    }
+}
@@ -0,0 +1,113 @@
+package stringmatching.core;
+
+/**
+ * Hot-path counters of the engines: character comparisons, shifts of the
+ * pattern, RabinKarp hash hits and BoyerMoore shift rule wins.
+ *
+ * Counting is off unless the JVM starts with -Dstringmatching.counters=true.
+ * ENABLED is a static final, so the JIT folds every "if (SearchCounters.ENABLED)"
+ * in the engines to nothing when it is off. The counters live in a
+ * SearchWorkspace and are therefore per thread; they add up over searches
+ * until reset().
+ */
+public final class SearchCounters {
+
+    public static final String PROPERTY = "stringmatching.counters";
+
+    /** True if the engines count; fixed at class initialization */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    long comparisons;
+    long shifts;
+    long shiftTotal;
+    long hashHits;        // RabinKarp windows whose hash equals the pattern's
+    long hashMatches;     // ... and that really match
+    long badCharWins;     // BoyerMoore shifts decided by the bad-character rule
+    long goodSuffixWins;  // ... by the good-suffix rule
+    long ruleTies;        // ... where both rules gave the same shift
+
+    SearchCounters() {
+    }
+
+    void compare(long count) {
+        comparisons += count;
+    }
+
+    void shift(int distance) {
+        shifts++;
+        shiftTotal += distance;
+    }
+
+    void hashHit(boolean match) {
+        hashHits++;
+        if (match) hashMatches++;
+    }
+
+    void shiftRule(int badCharShift, int goodSuffixShift) {
+        if (badCharShift > goodSuffixShift) badCharWins++;
+        else if (goodSuffixShift > badCharShift) goodSuffixWins++;
+        else ruleTies++;
+    }
+
+    /**
+     * Copy of the current values
+     */
+    public SearchCounters snapshot() {
+        SearchCounters copy = new SearchCounters();
+        copy.comparisons = comparisons;
+        copy.shifts = shifts;
+        copy.shiftTotal = shiftTotal;
+        copy.hashHits = hashHits;
+        copy.hashMatches = hashMatches;
+        copy.badCharWins = badCharWins;
+        copy.goodSuffixWins = goodSuffixWins;
+        copy.ruleTies = ruleTies;
+        return copy;
+    }
+
+    public void reset() {
+        comparisons = 0;
+        shifts = 0;
+        shiftTotal = 0;
+        hashHits = 0;
+        hashMatches = 0;
+        badCharWins = 0;
+        goodSuffixWins = 0;
+        ruleTies = 0;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getShifts() {
+        return shifts;
+    }
+
+    public double averageShift() {
+        return shifts == 0 ? 0 : (double) shiftTotal / shifts;
+    }
+
+    public long getHashHits() {
+        return hashHits;
+    }
+
+    /**
+     * Hash hits whose verification failed
+     */
+    public long getSpuriousHits() {
+        return hashHits - hashMatches;
+    }
+
+    public long getBadCharWins() {
+        return badCharWins;
+    }
+
+    public long getGoodSuffixWins() {
+        return goodSuffixWins;
+    }
+
+    public long getRuleTies() {
+        return ruleTies;
+    }
+}
@@ -0,0 +1,42 @@
+package stringmatching.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one search of an engine (Solve or PreparedPattern.solve).
+ *
+ * Recorded only while a JFR recording has it enabled, and then only for calls
+ * longer than the threshold (default 1 ms; override with
+ * stringmatching.Search#threshold in a .jfc file, see stringmatching.jfc).
+ * Without a recording the check is a single flag test and nothing is allocated.
+ */
+@Name("stringmatching.Search")
+@Label("String Search")
+@Category("String Matching")
+@Description("A search of a string matching engine (Solve or a prepared pattern)")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class SearchEvent extends Event {
+
+    // Checked before allocating an event, so untraced searches allocate nothing even before the JIT
+    static final EventType TYPE = EventType.getEventType(SearchEvent.class);
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Text Length")
+    int textLength;
+
+    @Label("Pattern Length")
+    int patternLength;
+
+    @Label("Match Count")
+    int matchCount;
+}
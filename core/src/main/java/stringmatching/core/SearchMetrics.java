@@ -0,0 +1,319 @@
+package stringmatching.core;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the search layer: per-algorithm latency histograms and scan
+ * throughput, the distribution of pre-analysis decisions and the hit rates of
+ * registered pattern caches.
+ *
+ * Recording is off by default (-Dstringmatching.metrics=true or setEnabled(true)
+ * turns it on); when off, a search pays one volatile read. When on, the hot path
+ * is a ConcurrentHashMap get and a few LongAdder increments, with no locks, so
+ * any number of threads can record at once. Cache counters are owned by the
+ * caches and only read when a report is made.
+ */
+public final class SearchMetrics {
+
+    public static final String PROPERTY = "stringmatching.metrics";
+
+    private static final SearchMetrics GLOBAL = new SearchMetrics();
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * Latency and volume of one algorithm's searches
+     */
+    public static final class AlgorithmMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder scannedChars = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCalls() {
+            return latency.count();
+        }
+
+        public long getScannedChars() {
+            return scannedChars.sum();
+        }
+
+        public long getMatches() {
+            return matches.sum();
+        }
+
+        /**
+         * Text chars scanned per second of search time
+         */
+        public double scanRate() {
+            long nanos = latency.totalNanos();
+            return nanos == 0 ? 0 : scannedChars.sum() * 1e9 / nanos;
+        }
+
+        void reset() {
+            latency.reset();
+            scannedChars.reset();
+            matches.reset();
+        }
+    }
+
+    /**
+     * Algorithms chosen by one pre-analysis strategy
+     */
+    public static final class DecisionMetrics {
+        private final ConcurrentHashMap<String, LongAdder> chosen = new ConcurrentHashMap<>();
+        private final LongAdder skipped = new LongAdder();
+
+        /**
+         * Decisions per algorithm, sorted by name
+         */
+        public Map<String, Long> getChosen() {
+            Map<String, Long> counts = new TreeMap<>();
+            chosen.forEach((algorithm, count) -> counts.put(algorithm, count.sum()));
+            return counts;
+        }
+
+        /**
+         * Decisions where the policy used its fallback without analysis
+         */
+        public long getSkipped() {
+            return skipped.sum();
+        }
+
+        public long getTotal() {
+            long total = 0;
+            for (LongAdder count : chosen.values()) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        void reset() {
+            chosen.values().forEach(LongAdder::reset);
+            skipped.reset();
+        }
+    }
+
+    private final ConcurrentHashMap<String, AlgorithmMetrics> algorithms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DecisionMetrics> decisions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PatternCache> caches = new ConcurrentHashMap<>();
+    private volatile long since = System.nanoTime();
+
+    private SearchMetrics() {
+    }
+
+    /**
+     * The registry the engines and runners record into
+     */
+    public static SearchMetrics global() {
+        return GLOBAL;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // ----------------- Recording -----------------
+
+    public void recordSearch(String algorithm, int textLength, int matchCount, long nanos) {
+        AlgorithmMetrics metrics = algorithms.get(algorithm);
+        if (metrics == null) {
+            metrics = algorithms.computeIfAbsent(algorithm, name -> new AlgorithmMetrics());
+        }
+        metrics.latency.record(nanos);
+        metrics.scannedChars.add(textLength);
+        metrics.matches.add(matchCount);
+    }
+
+    /**
+     * @param skipped the policy used its fallback algorithm without running the strategy
+     */
+    public void recordDecision(String strategy, String algorithm, boolean skipped) {
+        DecisionMetrics metrics = decisions.get(strategy);
+        if (metrics == null) {
+            metrics = decisions.computeIfAbsent(strategy, name -> new DecisionMetrics());
+        }
+        String key = algorithm == null ? "(none)" : algorithm;
+        LongAdder count = metrics.chosen.get(key);
+        if (count == null) {
+            count = metrics.chosen.computeIfAbsent(key, name -> new LongAdder());
+        }
+        count.increment();
+        if (skipped) metrics.skipped.increment();
+    }
+
+    /**
+     * Report the hit rate of a cache under the given name
+     */
+    public void registerCache(String name, PatternCache cache) {
+        caches.put(name, cache);
+    }
+
+    // ----------------- Reading -----------------
+
+    public Map<String, AlgorithmMetrics> getAlgorithms() {
+        return new TreeMap<>(algorithms);
+    }
+
+    public Map<String, DecisionMetrics> getDecisions() {
+        return new TreeMap<>(decisions);
+    }
+
+    public Map<String, PatternCache> getCaches() {
+        return new TreeMap<>(caches);
+    }
+
+    /**
+     * Seconds since creation or the last reset()
+     */
+    public double elapsedSeconds() {
+        return (System.nanoTime() - since) / 1e9;
+    }
+
+    /**
+     * Clear search and decision metrics (cache counters belong to the caches)
+     */
+    public void reset() {
+        algorithms.values().forEach(AlgorithmMetrics::reset);
+        decisions.values().forEach(DecisionMetrics::reset);
+        since = System.nanoTime();
+    }
+
+    // ----------------- Reports -----------------
+
+    /**
+     * Human-readable report (times in microseconds)
+     */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        double elapsed = elapsedSeconds();
+        sb.append(String.format(Locale.ROOT, "SEARCH METRICS (%.1f s, recording %s)%n", elapsed, enabled ? "on" : "off"));
+        sb.append("=".repeat(100)).append('\n');
+        sb.append(String.format(Locale.ROOT, "%-14s %9s %9s %9s %9s %9s %10s %12s %12s%n",
+                "Algorithm", "Calls", "Mean", "p50", "p99", "p99.9", "Max", "Mchars/s", "Mchars/s"));
+        sb.append(String.format(Locale.ROOT, "%-14s %9s %9s %9s %9s %9s %10s %12s %12s%n",
+                "", "", "(μs)", "(μs)", "(μs)", "(μs)", "(μs)", "(search)", "(wall)"));
+        sb.append("-".repeat(100)).append('\n');
+        for (Map.Entry<String, AlgorithmMetrics> entry : getAlgorithms().entrySet()) {
+            AlgorithmMetrics m = entry.getValue();
+            LatencyHistogram h = m.latency;
+            sb.append(String.format(Locale.ROOT, "%-14s %9d %9.3f %9.3f %9.3f %9.3f %10.3f %12.2f %12.2f%n",
+                    entry.getKey(), h.count(), h.mean() / 1000.0,
+                    h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0, h.percentile(0.999) / 1000.0,
+                    h.max() / 1000.0, m.scanRate() / 1e6,
+                    elapsed == 0 ? 0 : m.getScannedChars() / elapsed / 1e6));
+        }
+
+        sb.append("-".repeat(100)).append('\n');
+        sb.append("Pre-analysis decisions:\n");
+        for (Map.Entry<String, DecisionMetrics> entry : getDecisions().entrySet()) {
+            DecisionMetrics d = entry.getValue();
+            long total = d.getTotal();
+            sb.append(String.format(Locale.ROOT, "  %-26s %8d decisions, %d skipped:", entry.getKey(), total, d.getSkipped()));
+            for (Map.Entry<String, Long> chosen : d.getChosen().entrySet()) {
+                sb.append(String.format(Locale.ROOT, " %s %.1f%%", chosen.getKey(),
+                        total == 0 ? 0 : 100.0 * chosen.getValue() / total));
+            }
+            sb.append('\n');
+        }
+
+        sb.append("Pattern caches:\n");
+        for (Map.Entry<String, PatternCache> entry : getCaches().entrySet()) {
+            PatternCache cache = entry.getValue();
+            sb.append(String.format(Locale.ROOT, "  %-26s %8d hits, %d misses (%.1f%% hit rate), %d evictions, %d entries%n",
+                    entry.getKey(), cache.getHits(), cache.getMisses(), cache.hitRate() * 100,
+                    cache.getEvictions(), cache.size()));
+        }
+        sb.append("=".repeat(100)).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * The same data as JSON (times in nanoseconds, rates per second)
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        double elapsed = elapsedSeconds();
+        sb.append("{\n");
+        sb.append("  \"enabled\": ").append(enabled).append(",\n");
+        sb.append("  \"elapsedSeconds\": ").append(number(elapsed)).append(",\n");
+
+        sb.append("  \"algorithms\": {");
+        String separator = "\n";
+        for (Map.Entry<String, AlgorithmMetrics> entry : getAlgorithms().entrySet()) {
+            AlgorithmMetrics m = entry.getValue();
+            LatencyHistogram h = m.latency;
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+              .append("\"calls\": ").append(h.count())
+              .append(", \"scannedChars\": ").append(m.getScannedChars())
+              .append(", \"matches\": ").append(m.getMatches())
+              .append(", \"scanCharsPerSecond\": ").append(number(m.scanRate()))
+              .append(", \"wallCharsPerSecond\": ").append(number(elapsed == 0 ? 0 : m.getScannedChars() / elapsed))
+              .append(", \"latencyNanos\": {")
+              .append("\"mean\": ").append(number(h.mean()))
+              .append(", \"p50\": ").append(h.percentile(0.50))
+              .append(", \"p90\": ").append(h.percentile(0.90))
+              .append(", \"p99\": ").append(h.percentile(0.99))
+              .append(", \"p999\": ").append(h.percentile(0.999))
+              .append(", \"max\": ").append(h.max())
+              .append("}}");
+            separator = ",\n";
+        }
+        sb.append(separator.equals("\n") ? "},\n" : "\n  },\n");
+
+        sb.append("  \"decisions\": {");
+        separator = "\n";
+        for (Map.Entry<String, DecisionMetrics> entry : getDecisions().entrySet()) {
+            DecisionMetrics d = entry.getValue();
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+              .append("\"total\": ").append(d.getTotal())
+              .append(", \"skipped\": ").append(d.getSkipped())
+              .append(", \"chosen\": {");
+            String inner = "";
+            for (Map.Entry<String, Long> chosen : d.getChosen().entrySet()) {
+                sb.append(inner).append(quote(chosen.getKey())).append(": ").append(chosen.getValue());
+                inner = ", ";
+            }
+            sb.append("}}");
+            separator = ",\n";
+        }
+        sb.append(separator.equals("\n") ? "},\n" : "\n  },\n");
+
+        sb.append("  \"caches\": {");
+        separator = "\n";
+        for (Map.Entry<String, PatternCache> entry : getCaches().entrySet()) {
+            PatternCache cache = entry.getValue();
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+              .append("\"hits\": ").append(cache.getHits())
+              .append(", \"misses\": ").append(cache.getMisses())
+              .append(", \"hitRate\": ").append(number(cache.hitRate()))
+              .append(", \"evictions\": ").append(cache.getEvictions())
+              .append(", \"entries\": ").append(cache.size())
+              .append(", \"estimatedBytes\": ").append(cache.estimatedBytes())
+              .append("}");
+            separator = ",\n";
+        }
+        sb.append(separator.equals("\n") ? "}\n" : "\n  }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.3f", value) : "0";
+    }
+
+    // Algorithm and strategy names are identifiers; escape quotes and backslashes anyway
+    private static String quote(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,170 @@
+package stringmatching.core;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space of one thread's searches: grow-only pattern tables and the
+ * match buffer filled by Solution.findAll.
+ *
+ * Engines stay stateless (see Solution); everything a single search needs to
+ * write lives here instead, so after warm-up a findAll call allocates nothing.
+ * A workspace must not be used by two threads at once: either pass your own to
+ * findAll or use current(), which gives each thread its own. The match buffer
+ * and the tables are overwritten by the next search with the same workspace.
+ */
+public final class SearchWorkspace {
+
+    private static final ThreadLocal<SearchWorkspace> CURRENT = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    private int[] matches = new int[16];
+    private int matchCount;
+    private final StringBuilder result = new StringBuilder();
+
+    private int[] lps = new int[0];          // KMP failure function, BoyerMoore good suffix
+    private boolean[] prefix = new boolean[0];
+    private int[] shift;                     // Sunday shifts for chars < 256
+
+    // BoyerMoore last-occurrence table: -1 except at the chars of badCharChars
+    private int[] badChar;
+    private char[] badCharChars = new char[0];
+    private int badCharCount;
+
+    // Last case-folded pattern of the ignoreCase engines
+    private String foldSource;
+    private String folded;
+
+    final SearchCounters counters = new SearchCounters();
+
+    HybridSearch.Tables hybridTables;
+    final HybridSearch.Stats hybridStats = new HybridSearch.Stats();
+
+    public SearchWorkspace() {
+    }
+
+    /**
+     * Workspace of the calling thread
+     */
+    public static SearchWorkspace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Hot-path counters of the searches run with this workspace (only counted when SearchCounters.ENABLED)
+     */
+    public SearchCounters counters() {
+        return counters;
+    }
+
+    // ----------------- Matches -----------------
+
+    public void clearMatches() {
+        matchCount = 0;
+    }
+
+    public void addMatch(int position) {
+        if (matchCount == matches.length) {
+            matches = Arrays.copyOf(matches, matchCount * 2);
+        }
+        matches[matchCount++] = position;
+    }
+
+    public int matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Match buffer; only the first matchCount() entries are valid
+     */
+    public int[] matches() {
+        return matches;
+    }
+
+    /**
+     * Matches in the usual comma-separated Solve format
+     */
+    public String matchesToString() {
+        if (matchCount == 0) {
+            return "";
+        }
+        StringBuilder sb = result;
+        sb.setLength(0);
+        for (int i = 0; i < matchCount; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(matches[i]);
+        }
+        return sb.toString();
+    }
+
+    // ----------------- Tables -----------------
+
+    int[] lps(int m) {
+        if (lps.length < m) {
+            lps = new int[Math.max(m, 2 * lps.length)];
+        }
+        return lps;
+    }
+
+    boolean[] prefix(int m) {
+        if (prefix.length < m) {
+            prefix = new boolean[Math.max(m, 2 * prefix.length)];
+        }
+        return prefix;
+    }
+
+    int[] shiftTable() {
+        if (shift == null) {
+            shift = new int[256];
+        }
+        return shift;
+    }
+
+    /**
+     * Last-occurrence table of pattern over the whole char range. Only the
+     * entries the previous pattern set are reset, not all 65536.
+     */
+    int[] badCharTable(String pattern) {
+        if (badChar == null) {
+            badChar = new int[65536];
+            Arrays.fill(badChar, -1);
+        }
+        for (int k = 0; k < badCharCount; k++) {
+            badChar[badCharChars[k]] = -1;
+        }
+
+        int m = pattern.length();
+        if (badCharChars.length < m) {
+            badCharChars = new char[Math.max(m, 2 * badCharChars.length)];
+        }
+        for (int k = 0; k < m; k++) {
+            char c = pattern.charAt(k);
+            badChar[c] = k;
+            badCharChars[k] = c;
+        }
+        badCharCount = m;
+        return badChar;
+    }
+
+    /**
+     * Pattern folded with Solution.foldCase. The last result is kept, so searching
+     * for the same pattern again does not build a new String.
+     */
+    String foldedPattern(String pattern) {
+        if (!pattern.equals(foldSource)) {
+            folded = Solution.foldCase(pattern);
+            foldSource = pattern;
+        }
+        return folded;
+    }
+
+    /**
+     * Approximate bytes held by the scratch arrays
+     */
+    public long retainedBytes() {
+        long bytes = (long) Integer.BYTES * (matches.length + lps.length)
+                + prefix.length + 2L * badCharChars.length + 2L * result.capacity();
+        if (shift != null) bytes += Integer.BYTES * 256L;
+        if (badChar != null) bytes += Integer.BYTES * 65536L;
+        if (hybridTables != null) bytes += hybridTables.retainedBytes();
+        return bytes;
+    }
+}
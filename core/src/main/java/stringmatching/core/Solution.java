@@ -0,0 +1,201 @@
+package stringmatching.core;
+
+import java.util.List;
+
+/**
+ * Base class of the search engines.
+ *
+ * Engines are shared: AlgorithmRegistry keeps one instance per engine and any
+ * thread may call Solve or use a PreparedPattern from it at the same time.
+ * Implementations therefore keep no mutable per-search state in fields; tables
+ * and scratch arrays live in the caller's SearchWorkspace (or are locals of the
+ * call), and fields are final configuration or immutable values published
+ * through a volatile field.
+ * 'ManualTest stress' checks this against sequential results.
+ */
+public abstract class Solution {
+    public Solution(){
+        // Constructor
+    }
+
+    /**
+     * Main method to solve the string matching problem
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @return Comma-separated string of indices where pattern is found, or empty string if not found
+     */
+    public abstract String Solve(String text, String pattern);
+
+    /**
+     * Find all occurrences without building a result String.
+     * Positions are written to ws.matches()[0 .. count), which stays valid until
+     * the next search with ws. The engines override this with a scan that, after
+     * warm-up, allocates nothing; the default parses the output of Solve.
+     * @return the number of matches
+     */
+    public int findAll(String text, String pattern, SearchWorkspace ws) {
+        ws.clearMatches();
+        String result = Solve(text, pattern);
+        int value = -1;
+        for (int i = 0; i < result.length(); i++) {
+            char c = result.charAt(i);
+            if (c == ',') {
+                ws.addMatch(value);
+                value = -1;
+            } else {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            }
+        }
+        if (value >= 0) ws.addMatch(value);
+        return ws.matchCount();
+    }
+
+    /**
+     * Solve through findAll with the calling thread's workspace (see instrumentedSearch)
+     */
+    protected final String solveInWorkspace(String text, String pattern) {
+        return instrumentedSearch(getName(), this, Solution::findAll, text, pattern);
+    }
+
+    /**
+     * One findAll of an engine or a prepared pattern
+     */
+    interface Scan<T> {
+        int findAll(T target, String text, String pattern, SearchWorkspace ws);
+    }
+
+    /**
+     * Run a scan with the calling thread's workspace and return its matches in Solve format.
+     * Emits a SearchEvent when a Flight Recorder recording asks for it, and records the
+     * search in SearchMetrics when metrics are on. Solve (solveInWorkspace) and
+     * PreparedPattern.solve both go through here, so every search is seen exactly once.
+     */
+    static <T> String instrumentedSearch(String algorithm, T target, Scan<T> scan, String text, String pattern) {
+        SearchWorkspace ws = SearchWorkspace.current();
+        boolean metrics = SearchMetrics.isEnabled();
+        if (!SearchEvent.TYPE.isEnabled() && !metrics) {
+            scan.findAll(target, text, pattern, ws);
+            return ws.matchesToString();
+        }
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int count = scan.findAll(target, text, pattern, ws);
+        long nanos = System.nanoTime() - start;
+        event.end();
+        if (metrics) {
+            SearchMetrics.global().recordSearch(algorithm, text.length(), count, nanos);
+        }
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.textLength = text.length();
+            event.patternLength = pattern.length();
+            event.matchCount = count;
+            event.commit();
+        }
+        return ws.matchesToString();
+    }
+
+    /**
+     * Build the pattern-dependent tables once so they can be reused for many texts.
+     * Engines with preprocessing (KMP, RabinKarp, BoyerMoore, GoCrazy) override this;
+     * the default just binds the pattern to findAll.
+     * @param pattern The pattern to search for
+     * @return A prepared pattern whose solve(text) gives the same result as Solve(text, pattern)
+     */
+    public PreparedPattern prepare(String pattern) {
+        return new PreparedPattern(getName(), pattern, 0) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                return Solution.this.findAll(text, pattern, ws);
+            }
+        };
+    }
+
+    /**
+     * Result for the empty pattern: it matches at every position 0..n
+     */
+    protected String allPositions(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= n; i++) {
+            if (i > 0) sb.append(",");
+            sb.append(i);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Empty pattern into a workspace: every position 0..n
+     */
+    protected static int addAllPositions(int n, SearchWorkspace ws) {
+        for (int i = 0; i <= n; i++) {
+            ws.addMatch(i);
+        }
+        return ws.matchCount();
+    }
+
+    /**
+     * Helper method to convert list of indices to comma-separated string
+     * @param indices List of indices where pattern was found
+     * @return Comma-separated string of indices
+     */
+    protected String indicesToString(List<Integer> indices) {
+        if (indices.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < indices.size(); i++) {
+            sb.append(indices.get(i));
+            if (i < indices.size() - 1) {
+                sb.append(",");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to check if pattern matches text at given position
+     * @param text The text to search in
+     * @param pattern The pattern to search for
+     * @param pos The position in text to check
+     * @return true if pattern matches at position pos
+     */
+    protected boolean matchesAt(String text, String pattern, int pos) {
+        if (pos + pattern.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (text.charAt(pos + i) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fold a character for case-insensitive comparison.
+     * Same per-char rule as String.equalsIgnoreCase, so offsets in the original text stay valid.
+     */
+    protected static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Fold every character of a (short) pattern with foldCase(char)
+     */
+    protected static String foldCase(String s) {
+        char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = foldCase(s.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Get the name of this algorithm
+     * @return The class name (algorithm name)
+     */
+    public String getName() {
+        return this.getClass().getSimpleName();
+    }
+}
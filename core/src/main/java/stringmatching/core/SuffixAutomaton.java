@@ -0,0 +1,363 @@
+package stringmatching.core;
+
+import java.util.Arrays;
+
+/**
+ * Suffix automaton (DAWG) index over a fixed text.
+ *
+ * Built once in O(n) expected time; afterwards contains/count run in
+ * O(m log σ) and findAll in O(m log σ + occurrences) by walking the suffix-link
+ * tree below the pattern's state (σ = distinct chars leaving a state, so the
+ * log factor is a handful of comparisons even for Unicode text).
+ *
+ * All states and transitions live in primitive arrays (no per-state objects).
+ * After construction the transitions of a state are one sorted run of a shared
+ * char[] / int[] pair, found by binary search, and everything only needed while
+ * building (lengths, suffix links, the transition hash) is dropped. The index
+ * then holds 20 bytes per state and 6 per transition: measured 39-57 bytes per
+ * text character (English ~44, DNA ~48-50, binary up to 57; see estimatedBytes()).
+ * Construction itself needs about 100 bytes per character at its peak.
+ */
+public class SuffixAutomaton {
+
+    private final String text;
+
+    // ---- states ----
+    private final int[] endPos;     // end position of the first occurrence, -1 for clones
+    private final int[] count;      // occurrences (|endpos|)
+    private final int[] edgeStart;  // transitions of v: edgeChar/edgeTarget[edgeStart[v] .. edgeStart[v + 1])
+    private final int states;
+
+    // ---- transitions, sorted by char within each state ----
+    private final char[] edgeChar;
+    private final int[] edgeTarget;
+
+    // ---- inverse suffix links (children in the link tree), for findAll ----
+    private final int[] childHead;
+    private final int[] childNext;
+
+    private SuffixAutomaton(String text, Builder b) {
+        this.text = text;
+        this.states = b.size;
+        int[] link = b.link;
+        // Construction-only arrays are released as soon as they are used up,
+        // so the peak stays near the builder's own size
+        b.hash = null;
+        b.edgeOwner = null;
+
+        // |endpos| per state: 1 for every non-clone state, summed up the suffix links
+        // in decreasing order of len (counting sort keeps this O(n))
+        count = new int[states];
+        int maxLen = text.length();
+        int[] bucket = new int[maxLen + 2];
+        for (int v = 0; v < states; v++) bucket[b.len[v]]++;
+        for (int l = 1; l <= maxLen; l++) bucket[l] += bucket[l - 1];
+        int[] order = new int[states];
+        for (int v = states - 1; v >= 0; v--) order[--bucket[b.len[v]]] = v;
+        for (int v = 1; v < states; v++) {
+            if (!b.clone[v]) count[v] = 1;
+        }
+        for (int k = states - 1; k > 0; k--) {
+            int v = order[k];
+            count[link[v]] += count[v];
+        }
+        b.len = null;
+        bucket = null;
+        order = null;
+
+        endPos = new int[states];
+        for (int v = 0; v < states; v++) {
+            endPos[v] = b.clone[v] ? -1 : b.firstPos[v];
+        }
+        b.clone = null;
+        b.firstPos = null;
+
+        childHead = new int[states];
+        childNext = new int[states];
+        Arrays.fill(childHead, -1);
+        for (int v = 1; v < states; v++) {
+            int parent = link[v];
+            childNext[v] = childHead[parent];
+            childHead[parent] = v;
+        }
+        b.link = null;
+        link = null;
+
+        // Freeze the per-state edge lists into sorted runs
+        int edges = b.edges;
+        edgeStart = new int[states + 1];
+        edgeChar = new char[edges];
+        edgeTarget = new int[edges];
+        long[] run = new long[16];
+        int pos = 0;
+        for (int v = 0; v < states; v++) {
+            edgeStart[v] = pos;
+            int degree = 0;
+            for (int e = b.head[v]; e != -1; e = b.edgeNext[e]) {
+                if (degree == run.length) run = Arrays.copyOf(run, degree * 2);
+                run[degree++] = (long) b.edgeChar[e] << 32 | b.edgeTarget[e];
+            }
+            Arrays.sort(run, 0, degree);
+            for (int k = 0; k < degree; k++) {
+                edgeChar[pos] = (char) (run[k] >>> 32);
+                edgeTarget[pos] = (int) run[k];
+                pos++;
+            }
+        }
+        edgeStart[states] = pos;
+    }
+
+    /**
+     * Longest text build accepts: the transition hash needs a power-of-two int[] of at
+     * least 4/3 * 3n slots, and the largest such array Java allows has 2^30 slots
+     */
+    public static final int MAX_TEXT_LENGTH = 1 << 28;
+
+    /**
+     * Build the automaton for a text in O(n) expected time
+     * @throws IllegalArgumentException if the text is longer than MAX_TEXT_LENGTH
+     */
+    public static SuffixAutomaton build(String text) {
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Text too long for a suffix automaton index: " + text.length());
+        }
+        Builder b = new Builder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            b.extend(text.charAt(i));
+        }
+        return new SuffixAutomaton(text, b);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * True if pattern occurs in the text, O(m log σ)
+     */
+    public boolean contains(String pattern) {
+        return walk(pattern) >= 0;
+    }
+
+    /**
+     * Number of (possibly overlapping) occurrences, O(m log σ).
+     * The empty pattern occurs at every position 0..n, like in the scanning engines.
+     */
+    public int count(String pattern) {
+        if (pattern.isEmpty()) {
+            return text.length() + 1;
+        }
+        int state = walk(pattern);
+        return state < 0 ? 0 : count[state];
+    }
+
+    /**
+     * All start positions of pattern in increasing order, O(m log σ + occurrences + sort)
+     */
+    public int[] findAll(String pattern) {
+        int m = pattern.length();
+        if (m == 0) {
+            int[] all = new int[text.length() + 1];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            return all;
+        }
+
+        int state = walk(pattern);
+        if (state < 0) {
+            return new int[0];
+        }
+
+        // Every non-clone state in the link subtree contributes one end position
+        int[] result = new int[count[state]];
+        int found = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = state;
+        while (top > 0) {
+            int v = stack[--top];
+            if (endPos[v] >= 0) {
+                result[found++] = endPos[v] - m + 1;
+            }
+            for (int c = childHead[v]; c != -1; c = childNext[c]) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = c;
+            }
+        }
+
+        Arrays.sort(result, 0, found);
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    public int stateCount() {
+        return states;
+    }
+
+    public int transitionCount() {
+        return edgeChar.length;
+    }
+
+    /**
+     * Heap footprint of the index arrays (the text itself not included)
+     */
+    public long estimatedBytes() {
+        // endPos, count, edgeStart, childHead, childNext (ints); char + int per transition
+        return (long) states * 5 * Integer.BYTES + Integer.BYTES
+                + (long) edgeChar.length * (Character.BYTES + Integer.BYTES);
+    }
+
+    private int walk(String pattern) {
+        int state = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            int lo = edgeStart[state];
+            int hi = edgeStart[state + 1] - 1;
+            int next = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char x = edgeChar[mid];
+                if (x < c) {
+                    lo = mid + 1;
+                } else if (x > c) {
+                    hi = mid - 1;
+                } else {
+                    next = edgeTarget[mid];
+                    break;
+                }
+            }
+            if (next < 0) {
+                return -1;
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    // ----------------- construction -----------------
+
+    /**
+     * Online construction state. Transitions are per-state linked lists (for copying
+     * them to clones) plus an open-addressed hash of edge indices keyed by (owner, char),
+     * so each lookup is O(1) expected. Arrays are sized once for the 2n-state /
+     * 3n-transition bound, so construction never copies them.
+     */
+    private static final class Builder {
+        int[] len;
+        int[] link;
+        int[] firstPos;
+        int[] head;       // first outgoing transition, -1 if none
+        boolean[] clone;  // clones never own an end position
+        int size;
+        int last;
+
+        char[] edgeChar;
+        int[] edgeOwner;
+        int[] edgeTarget;
+        int[] edgeNext;
+        int edges;
+
+        // edge index + 1 per slot, 0 marks a free slot (load factor at most 3/4)
+        int[] hash;
+        int hashMask;
+
+        Builder(int n) {
+            int stateCapacity = Math.max(2, 2 * n);
+            len = new int[stateCapacity];
+            link = new int[stateCapacity];
+            firstPos = new int[stateCapacity];
+            head = new int[stateCapacity];
+            clone = new boolean[stateCapacity];
+
+            int edgeCapacity = Math.max(4, 3 * n);
+            edgeChar = new char[edgeCapacity];
+            edgeOwner = new int[edgeCapacity];
+            edgeTarget = new int[edgeCapacity];
+            edgeNext = new int[edgeCapacity];
+
+            long minSlots = Math.max(16L, (long) edgeCapacity / 3 * 4);
+            long slots = Long.highestOneBit(minSlots - 1) << 1;
+            if (slots > 1 << 30) {
+                throw new IllegalArgumentException("Text too long for a suffix automaton index: " + n);
+            }
+            hash = new int[(int) slots];
+            hashMask = (int) slots - 1;
+
+            // root state
+            link[0] = -1;
+            head[0] = -1;
+            firstPos[0] = -1;
+            size = 1;
+            last = 0;
+        }
+
+        void extend(char c) {
+            int cur = size++;
+            len[cur] = len[last] + 1;
+            firstPos[cur] = len[cur] - 1;
+            head[cur] = -1;
+
+            int p = last;
+            while (p != -1 && findEdge(p, c) == -1) {
+                addEdge(p, c, cur);
+                p = link[p];
+            }
+
+            if (p == -1) {
+                link[cur] = 0;
+            } else {
+                int q = edgeTarget[findEdge(p, c)];
+                if (len[p] + 1 == len[q]) {
+                    link[cur] = q;
+                } else {
+                    int cl = size++;
+                    len[cl] = len[p] + 1;
+                    link[cl] = link[q];
+                    firstPos[cl] = firstPos[q];
+                    clone[cl] = true;
+                    head[cl] = -1;
+                    for (int e = head[q]; e != -1; e = edgeNext[e]) {
+                        addEdge(cl, edgeChar[e], edgeTarget[e]);
+                    }
+
+                    int e;
+                    while (p != -1 && (e = findEdge(p, c)) != -1 && edgeTarget[e] == q) {
+                        edgeTarget[e] = cl;
+                        p = link[p];
+                    }
+                    link[q] = cl;
+                    link[cur] = cl;
+                }
+            }
+            last = cur;
+        }
+
+        private int slot(int state, char c) {
+            long key = (long) state << 16 | c;
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & hashMask;
+        }
+
+        private int findEdge(int state, char c) {
+            for (int s = slot(state, c); ; s = (s + 1) & hashMask) {
+                int e = hash[s] - 1;
+                if (e < 0) return -1;
+                if (edgeOwner[e] == state && edgeChar[e] == c) return e;
+            }
+        }
+
+        private void addEdge(int state, char c, int target) {
+            int e = edges++;
+            edgeChar[e] = c;
+            edgeOwner[e] = state;
+            edgeTarget[e] = target;
+            edgeNext[e] = head[state];
+            head[state] = e;
+
+            int s = slot(state, c);
+            while (hash[s] != 0) {
+                s = (s + 1) & hashMask;
+            }
+            hash[s] = e + 1;
+        }
+    }
+}
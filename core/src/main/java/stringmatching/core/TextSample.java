@@ -0,0 +1,89 @@
+package stringmatching.core;
+
+/**
+ * Bounded-cost look at the text content for pre-analysis.
+ * Reads at most BUDGET characters with a fixed stride over the whole text and keeps
+ * a frequency histogram in a primitive array (chars are folded into 256 buckets).
+ * One instance is reused per thread, so sampling allocates nothing; the result of
+ * of() is valid until the next of() call on the same thread.
+ */
+public final class TextSample {
+
+    /** Maximum number of text characters inspected, whatever the text length */
+    public static final int BUDGET = 256;
+
+    // F_LOG2_F[f] = f * log2(f), so the entropy needs no Math.log per bucket:
+    // H = log2(count) - sum(f * log2 f) / count
+    private static final double[] F_LOG2_F = new double[BUDGET + 1];
+    static {
+        for (int f = 1; f <= BUDGET; f++) {
+            F_LOG2_F[f] = f * (Math.log(f) / Math.log(2));
+        }
+    }
+
+    private static final ThreadLocal<TextSample> LOCAL = ThreadLocal.withInitial(TextSample::new);
+
+    final int[] histogram = new int[256];
+    private final int[] touched = new int[256]; // buckets set by the current sample, for the incremental reset
+    int sampled;
+    int distinct;    // estimated alphabet size (distinct buckets seen)
+    double entropy;  // Shannon entropy of the sample, bits per char
+
+    private TextSample() {
+    }
+
+    private void sample(String text) {
+        // Undo only the buckets the previous sample touched
+        for (int k = 0; k < distinct; k++) {
+            histogram[touched[k]] = 0;
+        }
+
+        int n = text.length();
+        // Ceiling division, so the samples reach the end of the text (n / BUDGET would
+        // give stride 1 below 2 * BUDGET and only ever look at the first BUDGET chars)
+        int stride = n <= BUDGET ? 1 : (n - 1) / BUDGET + 1;
+        int count = 0;
+        int d = 0;
+        for (int i = 0; i < n && count < BUDGET; i += stride) {
+            int b = text.charAt(i) & 0xFF;
+            if (histogram[b]++ == 0) {
+                touched[d++] = b;
+            }
+            count++;
+        }
+        sampled = count;
+        distinct = d;
+
+        double sum = 0.0;
+        for (int k = 0; k < d; k++) {
+            sum += F_LOG2_F[histogram[touched[k]]];
+        }
+        entropy = count == 0 ? 0.0 : F_LOG2_F[count] / count - sum / count;
+    }
+
+    public static TextSample of(String text) {
+        TextSample sample = LOCAL.get();
+        sample.sample(text);
+        return sample;
+    }
+
+    /**
+     * Fraction of sampled text characters that also occur in the first `limit` pattern chars
+     */
+    double frequencyOf(String pattern, int limit) {
+        if (sampled == 0) return 0.0;
+        long seen0 = 0, seen1 = 0, seen2 = 0, seen3 = 0; // 256-bit set of pattern buckets
+        int hits = 0;
+        for (int i = 0; i < limit; i++) {
+            int b = pattern.charAt(i) & 0xFF;
+            long bit = 1L << (b & 63);
+            switch (b >>> 6) {
+                case 0: if ((seen0 & bit) == 0) { seen0 |= bit; hits += histogram[b]; } break;
+                case 1: if ((seen1 & bit) == 0) { seen1 |= bit; hits += histogram[b]; } break;
+                case 2: if ((seen2 & bit) == 0) { seen2 |= bit; hits += histogram[b]; } break;
+                default: if ((seen3 & bit) == 0) { seen3 |= bit; hits += histogram[b]; } break;
+            }
+        }
+        return (double) hits / sampled;
+    }
+}
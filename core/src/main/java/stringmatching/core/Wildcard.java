@@ -0,0 +1,46 @@
+package stringmatching.core;
+
+/**
+ * Wildcard / character-class search engine.
+ * The pattern argument of Solve is interpreted with the WildcardPattern syntax
+ * ("ab?d", "[0-9]{4}", ...); results use the usual comma-separated index format.
+ * Not in AlgorithmRegistry: '?', '[' and '{' would change the meaning of the shared test patterns.
+ */
+public class Wildcard extends Solution {
+
+    // Last compiled pattern; immutable, so sharing it between threads is safe
+    private volatile WildcardPattern last;
+
+    public Wildcard() {
+    }
+
+    @Override
+    public String Solve(String text, String pattern) {
+        return indicesToString(compiled(pattern).findAll(text));
+    }
+
+    @Override
+    public PreparedPattern prepare(String pattern) {
+        WildcardPattern compiled = compiled(pattern);
+        return new PreparedPattern(getName(), pattern, compiled.tableBytes()) {
+            @Override
+            public int findAll(String text, SearchWorkspace ws) {
+                ws.clearMatches();
+                for (int position : compiled.findAll(text)) {
+                    ws.addMatch(position);
+                }
+                return ws.matchCount();
+            }
+        };
+    }
+
+    // Repeated Solve calls with the same pattern compile it only once
+    private WildcardPattern compiled(String pattern) {
+        WildcardPattern p = last;
+        if (p == null || !p.getSource().equals(pattern)) {
+            p = WildcardPattern.compile(pattern);
+            last = p;
+        }
+        return p;
+    }
+}
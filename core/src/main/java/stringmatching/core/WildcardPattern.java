@@ -0,0 +1,332 @@
+package stringmatching.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small literal pattern language with single-character wildcards and character classes.
+ *
+ * Syntax:
+ *   ?         any single character
+ *   [abc]     one of the listed characters
+ *   [a-z0-9]  character ranges
+ *   [^...]    any character NOT in the class
+ *   {n}       repeat the previous atom exactly n times (e.g. "[0-9]{4}")
+ *   \c        the literal character c (e.g. "\?" or "\[")
+ *
+ * Every pattern has a fixed length, so it compiles to bit-parallel Shift-And masks
+ * (patterns up to 64 positions) or to a Sunday shift table that treats wildcards
+ * conservatively (longer patterns). No java.util.regex is involved.
+ * A compiled pattern is immutable and covers at most MAX_LENGTH positions.
+ */
+public class WildcardPattern {
+
+    private static final int SHIFT_AND_LIMIT = 64;
+
+    /** Longest pattern (after expanding {n}) that compile accepts */
+    public static final int MAX_LENGTH = 1 << 20;
+
+    private final String source;
+    private final CharSet[] positions;
+
+    // Shift-And: masks[c] has bit j set when position j accepts c (Latin-1 only)
+    private final long[] masks;
+
+    // Sunday: shift[c] = distance from the last position accepting c to the window end
+    private final int[] shift;
+    private final int highShift; // conservative shift for chars >= 256
+
+    private WildcardPattern(String source, CharSet[] positions) {
+        this.source = source;
+        this.positions = positions;
+        int m = positions.length;
+
+        if (m <= SHIFT_AND_LIMIT) {
+            masks = new long[256];
+            for (int j = 0; j < m; j++) {
+                CharSet set = positions[j];
+                for (int c = 0; c < 256; c++) {
+                    if (set.matches((char) c)) {
+                        masks[c] |= 1L << j;
+                    }
+                }
+            }
+            shift = null;
+            highShift = 0;
+        } else {
+            masks = null;
+            shift = new int[256];
+            int lastHigh = -1;
+            for (int c = 0; c < 256; c++) shift[c] = m + 1;
+            for (int j = 0; j < m; j++) {
+                CharSet set = positions[j];
+                for (int c = 0; c < 256; c++) {
+                    if (set.matches((char) c)) {
+                        shift[c] = m - j;
+                    }
+                }
+                if (set.mayMatchHigh()) {
+                    lastHigh = j;
+                }
+            }
+            highShift = m - lastHigh;
+        }
+    }
+
+    /**
+     * Compile a wildcard pattern
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public static WildcardPattern compile(String pattern) {
+        List<CharSet> out = new ArrayList<>();
+        int i = 0;
+        int len = pattern.length();
+
+        while (i < len) {
+            char c = pattern.charAt(i);
+            CharSet atom;
+
+            if (c == '?') {
+                atom = CharSet.ANY;
+                i++;
+            } else if (c == '[') {
+                int end = findClassEnd(pattern, i + 1);
+                atom = parseClass(pattern, i + 1, end);
+                i = end + 1;
+            } else if (c == '\\') {
+                if (i + 1 >= len) {
+                    throw new IllegalArgumentException("Dangling escape at end of pattern: " + pattern);
+                }
+                atom = CharSet.literal(pattern.charAt(i + 1));
+                i += 2;
+            } else if (c == '{' || c == ']' || c == '}') {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at index " + i + " in pattern: " + pattern);
+            } else {
+                atom = CharSet.literal(c);
+                i++;
+            }
+
+            // Optional exact repetition {n}
+            int repeat = 1;
+            if (i < len && pattern.charAt(i) == '{') {
+                int close = pattern.indexOf('}', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed '{' at index " + i + " in pattern: " + pattern);
+                }
+                try {
+                    repeat = Integer.parseInt(pattern.substring(i + 1, close).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid repetition count at index " + i + " in pattern: " + pattern);
+                }
+                if (repeat < 0) {
+                    throw new IllegalArgumentException("Negative repetition count in pattern: " + pattern);
+                }
+                if (repeat > MAX_LENGTH - out.size()) {
+                    throw new IllegalArgumentException("Pattern longer than " + MAX_LENGTH
+                            + " positions after repetition: " + pattern);
+                }
+                i = close + 1;
+            }
+
+            if (repeat == 1 && out.size() == MAX_LENGTH) {
+                throw new IllegalArgumentException("Pattern longer than " + MAX_LENGTH + " positions: " + pattern);
+            }
+            for (int r = 0; r < repeat; r++) {
+                out.add(atom);
+            }
+        }
+
+        return new WildcardPattern(pattern, out.toArray(new CharSet[0]));
+    }
+
+    /**
+     * Number of text characters one match covers
+     */
+    public int length() {
+        return positions.length;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Approximate heap size of the compiled tables (for PreparedPattern / PatternCache)
+     */
+    long tableBytes() {
+        return 8L * positions.length + (masks != null ? 8L * masks.length : 4L * shift.length);
+    }
+
+    /**
+     * Find all match positions in text
+     * @return Indices in increasing order (same format as Solution.Solve before joining)
+     */
+    public List<Integer> findAll(String text) {
+        List<Integer> indices = new ArrayList<>();
+        int n = text.length();
+        int m = positions.length;
+
+        // Empty pattern matches at every position, like the exact engines
+        if (m == 0) {
+            for (int i = 0; i <= n; i++) indices.add(i);
+            return indices;
+        }
+        if (m > n) {
+            return indices;
+        }
+
+        if (masks != null) {
+            shiftAnd(text, n, m, indices);
+        } else {
+            sunday(text, n, m, indices);
+        }
+        return indices;
+    }
+
+    // ----------------- Shift-And (m <= 64) -----------------
+    private void shiftAnd(String text, int n, int m, List<Integer> indices) {
+        long accept = 1L << (m - 1);
+        long state = 0;
+
+        // One-entry cache for non-Latin-1 characters (kept local so the pattern stays immutable)
+        char lastHigh = 0;
+        long lastHighMask = 0;
+        boolean haveHigh = false;
+
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            long mask;
+            if (c < 256) {
+                mask = masks[c];
+            } else {
+                if (!haveHigh || c != lastHigh) {
+                    lastHigh = c;
+                    lastHighMask = highMask(c, m);
+                    haveHigh = true;
+                }
+                mask = lastHighMask;
+            }
+
+            state = ((state << 1) | 1L) & mask;
+            if ((state & accept) != 0) {
+                indices.add(i - m + 1);
+            }
+        }
+    }
+
+    private long highMask(char c, int m) {
+        long mask = 0;
+        for (int j = 0; j < m; j++) {
+            if (positions[j].matches(c)) {
+                mask |= 1L << j;
+            }
+        }
+        return mask;
+    }
+
+    // ----------------- Sunday (m > 64) -----------------
+    private void sunday(String text, int n, int m, List<Integer> indices) {
+        int i = 0;
+        while (i <= n - m) {
+            int j = 0;
+            while (j < m && positions[j].matches(text.charAt(i + j))) {
+                j++;
+            }
+            if (j == m) {
+                indices.add(i);
+            }
+
+            if (i + m >= n) {
+                break;
+            }
+            char next = text.charAt(i + m);
+            i += next < 256 ? shift[next] : highShift;
+        }
+    }
+
+    // ----------------- Parsing helpers -----------------
+    private static int findClassEnd(String pattern, int from) {
+        for (int i = from; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unclosed '[' in pattern: " + pattern);
+    }
+
+    private static CharSet parseClass(String pattern, int from, int end) {
+        boolean negated = false;
+        int i = from;
+        if (i < end && pattern.charAt(i) == '^') {
+            negated = true;
+            i++;
+        }
+
+        StringBuilder ranges = new StringBuilder();
+        while (i < end) {
+            char lo = pattern.charAt(i);
+            if (lo == '\\') {
+                lo = pattern.charAt(++i);
+            }
+            i++;
+
+            char hi = lo;
+            if (i + 1 < end && pattern.charAt(i) == '-') {
+                hi = pattern.charAt(i + 1);
+                i += 2;
+                if (hi == '\\' && i < end) {
+                    hi = pattern.charAt(i++);
+                }
+                if (hi < lo) {
+                    throw new IllegalArgumentException("Invalid range " + lo + "-" + hi + " in pattern: " + pattern);
+                }
+            }
+            ranges.append(lo).append(hi);
+        }
+
+        if (ranges.length() == 0 && !negated) {
+            throw new IllegalArgumentException("Empty character class in pattern: " + pattern);
+        }
+        return new CharSet(negated, ranges.toString().toCharArray());
+    }
+
+    /**
+     * Set of characters accepted at one pattern position
+     */
+    static final class CharSet {
+        static final CharSet ANY = new CharSet(true, new char[0]);
+
+        private final boolean negated;
+        private final char[] ranges; // pairs of (lo, hi), inclusive
+
+        CharSet(boolean negated, char[] ranges) {
+            this.negated = negated;
+            this.ranges = ranges;
+        }
+
+        static CharSet literal(char c) {
+            return new CharSet(false, new char[] { c, c });
+        }
+
+        boolean matches(char c) {
+            for (int k = 0; k < ranges.length; k += 2) {
+                if (c >= ranges[k] && c <= ranges[k + 1]) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+
+        // true if some char >= 256 could be accepted (used for the conservative Sunday shift)
+        boolean mayMatchHigh() {
+            if (negated) return true;
+            for (int k = 1; k < ranges.length; k += 2) {
+                if (ranges[k] >= 256) return true;
+            }
+            return false;
+        }
+    }
+}
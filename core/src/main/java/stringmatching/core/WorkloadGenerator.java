@@ -0,0 +1,314 @@
+package stringmatching.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic texts and patterns for scaling benchmarks.
+ *
+ * A generator is fixed by its alphabet, shape and seed; workload k of a given
+ * size is the same on every machine and every run, and does not depend on which
+ * other workloads were generated. Texts are built as one symbol index per byte
+ * and turned into a Latin-1 String where the alphabet allows it, so a 1 GB text
+ * needs about 2 GB of heap while it is generated.
+ *
+ * Shapes:
+ *   RANDOM      i.i.d. uniform symbols
+ *   MARKOV      order-2 Markov chain (trained on English prose for ENGLISH,
+ *               skewed random transitions otherwise)
+ *   PERIODIC    a short random period repeated, with rare mutations
+ *   FIBONACCI   Fibonacci word, pattern is a prefix of it (long KMP fallback chains)
+ *   NAIVE_WORST a^n searched for a^(m-1)b (every window fails at its last char)
+ *   SKIP_WORST  a^n searched for b a^(m-1) (right-to-left scans fail at the first char, shift 1)
+ *   ALL_MATCH   a^n searched for a^m (a match at every position)
+ * Random and Markov patterns are drawn from the same model as the text; copies
+ * of the pattern are then planted at random positions at the requested density.
+ */
+public final class WorkloadGenerator {
+
+    public enum Alphabet {
+        BINARY("01"),
+        DNA("ACGT"),
+        ENGLISH(" abcdefghijklmnopqrstuvwxyz.,"),
+        UNICODE(unicodeChars());
+
+        final char[] chars;
+
+        Alphabet(String chars) {
+            this.chars = chars.toCharArray();
+        }
+
+        public int size() {
+            return chars.length;
+        }
+
+        boolean isLatin1() {
+            for (char c : chars) {
+                if (c > 0xFF) return false;
+            }
+            return true;
+        }
+
+        // Accented Latin, Greek, Cyrillic and CJK letters, plus a space
+        private static String unicodeChars() {
+            StringBuilder sb = new StringBuilder(" ");
+            for (char c = '\u00E0'; c <= '\u00EF'; c++) sb.append(c);
+            for (char c = '\u03B1'; c <= '\u03C9'; c++) sb.append(c);
+            for (char c = '\u0430'; c <= '\u044F'; c++) sb.append(c);
+            for (char c = '\u4E00'; c <= '\u4E1F'; c++) sb.append(c);
+            return sb.toString();
+        }
+    }
+
+    public enum Shape {
+        RANDOM, MARKOV, PERIODIC, FIBONACCI, NAIVE_WORST, SKIP_WORST, ALL_MATCH
+    }
+
+    /**
+     * A generated text and pattern
+     */
+    public static final class Workload {
+        private final String text;
+        private final String pattern;
+
+        Workload(String text, String pattern) {
+            this.text = text;
+            this.pattern = pattern;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+    }
+
+    // Training text for the ENGLISH Markov model
+    private static final String ENGLISH_SAMPLE =
+            "it was the best of times, it was the worst of times, it was the age of wisdom, "
+          + "it was the age of foolishness, it was the epoch of belief, it was the epoch of "
+          + "incredulity, it was the season of light, it was the season of darkness, it was "
+          + "the spring of hope, it was the winter of despair. a string matching algorithm "
+          + "finds every place where a pattern occurs in a text. the naive method compares "
+          + "the pattern with each window of the text, while the method of knuth, morris and "
+          + "pratt never moves backwards in the text, and the method of boyer and moore "
+          + "compares from the right so that a mismatch can skip over many characters. "
+          + "which method is fastest depends on the length of the pattern, the size of the "
+          + "alphabet and how often partial matches occur. natural language has a skewed "
+          + "distribution of letters, short words and frequent spaces, which is why the "
+          + "results on english prose differ from those on random strings or on dna. ";
+
+    private static final int MUTATION_RATE = 1000; // PERIODIC: one changed symbol per this many chars
+
+    private final Alphabet alphabet;
+    private final Shape shape;
+    private final long seed;
+    private final int[][] markov; // MARKOV: cumulative weights per order-2 context
+
+    public WorkloadGenerator(Alphabet alphabet, Shape shape, long seed) {
+        this.alphabet = alphabet;
+        this.shape = shape;
+        this.seed = seed;
+        this.markov = shape == Shape.MARKOV ? buildMarkov(alphabet, seed) : null;
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Workload number index of the given size
+     * @param plantedPerThousand pattern copies planted per 1000 text chars (0 = only natural matches)
+     */
+    public Workload generate(int index, int textLength, int patternLength, double plantedPerThousand) {
+        if (textLength < 0 || patternLength < 1 || patternLength > textLength) {
+            throw new IllegalArgumentException("Need 1 <= pattern length <= text length, got "
+                    + patternLength + " and " + textLength);
+        }
+        if (plantedPerThousand < 0) {
+            throw new IllegalArgumentException("Planted match density must not be negative: " + plantedPerThousand);
+        }
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        byte[] text = new byte[textLength];
+        byte[] pattern = new byte[patternLength];
+
+        switch (shape) {
+            case RANDOM:
+                uniform(text, random);
+                uniform(pattern, random);
+                break;
+            case MARKOV:
+                markovChain(text, random);
+                markovChain(pattern, random);
+                break;
+            case PERIODIC:
+                periodic(text, pattern, random);
+                break;
+            case FIBONACCI:
+                fibonacci(text);
+                System.arraycopy(text, 0, pattern, 0, patternLength);
+                break;
+            case NAIVE_WORST:
+                pattern[patternLength - 1] = 1;
+                break;
+            case SKIP_WORST:
+                pattern[0] = 1;
+                break;
+            case ALL_MATCH:
+                break;
+        }
+
+        long plants = Math.round(textLength * plantedPerThousand / 1000.0);
+        int lastStart = textLength - patternLength;
+        for (long k = 0; k < plants; k++) {
+            System.arraycopy(pattern, 0, text, random.nextInt(lastStart + 1), patternLength);
+        }
+        return new Workload(toText(text), toText(pattern));
+    }
+
+    /**
+     * Parse sizes like 4096, 64K, 16M or 1G (binary units)
+     */
+    public static int parseSize(String size) {
+        String s = size.trim().toUpperCase();
+        long unit = 1;
+        if (s.endsWith("K")) unit = 1L << 10;
+        else if (s.endsWith("M")) unit = 1L << 20;
+        else if (s.endsWith("G")) unit = 1L << 30;
+        if (unit > 1) s = s.substring(0, s.length() - 1);
+        long value;
+        try {
+            value = Long.parseLong(s) * unit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a size: " + size);
+        }
+        // Longest String the JVM can allocate
+        if (value < 0 || value > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Size out of range (0 .. 2G - 8): " + size);
+        }
+        return (int) value;
+    }
+
+    // ----------------- Shapes -----------------
+
+    private void uniform(byte[] out, SplittableRandom random) {
+        int s = alphabet.size();
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) random.nextInt(s);
+        }
+    }
+
+    private void markovChain(byte[] out, SplittableRandom random) {
+        int s = alphabet.size();
+        int a = random.nextInt(s);
+        int b = random.nextInt(s);
+        for (int i = 0; i < out.length; i++) {
+            int[] cumulative = markov[a * s + b];
+            int r = random.nextInt(cumulative[s - 1]);
+            int next = 0;
+            while (cumulative[next] <= r) {
+                next++;
+            }
+            out[i] = (byte) next;
+            a = b;
+            b = next;
+        }
+    }
+
+    private void periodic(byte[] text, byte[] pattern, SplittableRandom random) {
+        byte[] period = new byte[Math.max(2, Math.min(pattern.length / 2 + 1, 64))];
+        uniform(period, random);
+        for (int i = 0; i < text.length; i++) {
+            text[i] = period[i % period.length];
+        }
+        // Pattern from the clean periodic text, then sparse mutations break some alignments
+        System.arraycopy(text, 0, pattern, 0, pattern.length);
+        int s = alphabet.size();
+        for (int k = text.length / MUTATION_RATE; k > 0; k--) {
+            text[random.nextInt(text.length)] = (byte) random.nextInt(s);
+        }
+    }
+
+    // Fibonacci word over symbols 0 and 1: S(n) = S(n-1) S(n-2), built in place
+    private static void fibonacci(byte[] out) {
+        if (out.length == 0) return;
+        out[0] = 0;
+        int length = 1;
+        int previous = 0; // length of S(n-2)
+        if (out.length > 1) {
+            out[1] = 1;     // S(1) = "01" after S(0) = "0"
+            length = 2;
+            previous = 1;
+        }
+        while (length < out.length) {
+            int copy = Math.min(previous, out.length - length);
+            System.arraycopy(out, 0, out, length, copy);
+            previous = length;
+            length += copy;
+        }
+    }
+
+    private static int[][] buildMarkov(Alphabet alphabet, long seed) {
+        int s = alphabet.size();
+        int[][] weights = new int[s * s][s];
+        if (alphabet == Alphabet.ENGLISH) {
+            // Order-2 counts from the sample, backed off to order-1 counts for contexts
+            // the sample never shows, plus one so every transition stays possible
+            String chars = new String(alphabet.chars);
+            int[][] order1 = new int[s][s];
+            for (int i = 1; i < ENGLISH_SAMPLE.length(); i++) {
+                order1[chars.indexOf(ENGLISH_SAMPLE.charAt(i - 1))][chars.indexOf(ENGLISH_SAMPLE.charAt(i))]++;
+            }
+            for (int a = 0; a < s; a++) {
+                for (int b = 0; b < s; b++) {
+                    for (int c = 0; c < s; c++) {
+                        weights[a * s + b][c] = 1 + 10 * order1[b][c];
+                    }
+                }
+            }
+            for (int i = 2; i < ENGLISH_SAMPLE.length(); i++) {
+                int a = chars.indexOf(ENGLISH_SAMPLE.charAt(i - 2));
+                int b = chars.indexOf(ENGLISH_SAMPLE.charAt(i - 1));
+                int c = chars.indexOf(ENGLISH_SAMPLE.charAt(i));
+                weights[a * s + b][c] += 1000;
+            }
+        } else {
+            // Skewed random transitions: a few likely successors per context
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int[] row : weights) {
+                for (int c = 0; c < s; c++) {
+                    double u = random.nextDouble();
+                    row[c] = 1 + (int) (1000 * u * u * u * u);
+                }
+            }
+        }
+        for (int[] row : weights) {
+            for (int c = 1; c < s; c++) {
+                row[c] += row[c - 1];
+            }
+        }
+        return weights;
+    }
+
+    // Symbol indices to characters
+    private String toText(byte[] symbols) {
+        char[] chars = alphabet.chars;
+        if (alphabet.isLatin1()) {
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = (byte) chars[symbols[i] & 0xFF];
+            }
+            return new String(symbols, StandardCharsets.ISO_8859_1);
+        }
+        char[] out = new char[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            out[i] = chars[symbols[i] & 0xFF];
+        }
+        return new String(out);
+    }
+}
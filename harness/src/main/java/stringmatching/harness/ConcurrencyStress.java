@@ -0,0 +1,188 @@
+package stringmatching.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.IndexedSearch;
+import stringmatching.core.PreAnalysis;
+import stringmatching.core.PreparedPattern;
+import stringmatching.core.Solution;
+import stringmatching.core.StudentPreAnalysis;
+
+/**
+ * Checks that one engine instance can be shared by many threads: every thread
+ * calls Solve and PreparedPattern.solve on the same instance in a random order,
+ * and each answer must equal the one from a sequential run.
+ */
+public class ConcurrencyStress {
+
+    /**
+     * Outcome for one engine
+     */
+    static class StressResult {
+        final String name;
+        final LongAdder calls = new LongAdder();
+        final LongAdder mismatches = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final AtomicReference<String> firstFailure = new AtomicReference<>();
+        long elapsedNanos;
+
+        StressResult(String name) {
+            this.name = name;
+        }
+
+        boolean passed() {
+            return mismatches.sum() == 0 && errors.sum() == 0;
+        }
+
+        void fail(String message) {
+            firstFailure.compareAndSet(null, message);
+        }
+    }
+
+    /**
+     * Run the stress test for all registered engines (plus IndexedSearch and the
+     * shared pre-analysis) and print one line per engine
+     * @return true if every concurrent answer matched the sequential one
+     */
+    public static boolean run(List<TestCase> tests, int threads, int rounds) {
+        List<Solution> engines = new ArrayList<>(AlgorithmRegistry.all());
+        engines.add(new IndexedSearch());
+
+        System.out.println("=".repeat(100));
+        System.out.printf("CONCURRENCY STRESS: %d threads x %d rounds x %d tests, one shared instance per engine%n",
+                threads, rounds, tests.size());
+        System.out.println("=".repeat(100));
+        System.out.printf("%-20s %12s %12s %10s %12s   %s%n", "Engine", "Calls", "Mismatches", "Errors", "Time (ms)", "Status");
+        System.out.println("-".repeat(100));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        boolean allPassed = true;
+        try {
+            for (Solution engine : engines) {
+                StressResult result = stressEngine(pool, engine, tests, threads, rounds);
+                print(result);
+                allPassed &= result.passed();
+            }
+            StressResult decisions = stressPreAnalysis(pool, new StudentPreAnalysis(), tests, threads, rounds);
+            print(decisions);
+            allPassed &= decisions.passed();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("=".repeat(100));
+        System.out.println(allPassed
+                ? "✓ All engines gave the sequential results under concurrent use"
+                : "✗ Some engines are not safe to share between threads");
+        return allPassed;
+    }
+
+    private static StressResult stressEngine(ExecutorService pool, Solution engine, List<TestCase> tests,
+                                             int threads, int rounds) {
+        // Sequential reference answers and shared prepared patterns
+        String[] expected = new String[tests.size()];
+        PreparedPattern[] prepared = new PreparedPattern[tests.size()];
+        for (int i = 0; i < tests.size(); i++) {
+            TestCase test = tests.get(i);
+            expected[i] = engine.Solve(test.getText(), test.getPattern());
+            prepared[i] = engine.prepare(test.getPattern());
+        }
+
+        StressResult result = new StressResult(engine.getName());
+        hammer(pool, threads, rounds * tests.size(), result, (random) -> {
+            int i = random.nextInt(tests.size());
+            TestCase test = tests.get(i);
+            String actual = random.nextBoolean()
+                    ? engine.Solve(test.getText(), test.getPattern())
+                    : prepared[i].solve(test.getText());
+            if (!expected[i].equals(actual)) {
+                result.mismatches.increment();
+                result.fail(test.getName() + ": expected " + abbreviate(expected[i]) + ", got " + abbreviate(actual));
+            }
+        });
+        return result;
+    }
+
+    private static StressResult stressPreAnalysis(ExecutorService pool, PreAnalysis preAnalysis, List<TestCase> tests,
+                                                  int threads, int rounds) {
+        String[] expected = new String[tests.size()];
+        for (int i = 0; i < tests.size(); i++) {
+            expected[i] = preAnalysis.chooseAlgorithm(tests.get(i).getText(), tests.get(i).getPattern());
+        }
+
+        StressResult result = new StressResult(preAnalysis.getClass().getSimpleName());
+        hammer(pool, threads, rounds * tests.size(), result, (random) -> {
+            int i = random.nextInt(tests.size());
+            String actual = preAnalysis.chooseAlgorithm(tests.get(i).getText(), tests.get(i).getPattern());
+            if (!String.valueOf(expected[i]).equals(String.valueOf(actual))) {
+                result.mismatches.increment();
+                result.fail(tests.get(i).getName() + ": expected " + expected[i] + ", got " + actual);
+            }
+        });
+        return result;
+    }
+
+    private interface Call {
+        void run(SplittableRandom random);
+    }
+
+    /**
+     * Start all threads at once and let each make callsPerThread calls
+     */
+    private static void hammer(ExecutorService pool, int threads, int callsPerThread, StressResult result, Call call) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(1000L + t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int c = 0; c < callsPerThread; c++) {
+                    try {
+                        call.run(random);
+                    } catch (RuntimeException e) {
+                        result.errors.increment();
+                        result.fail(e.toString());
+                    }
+                    result.calls.increment();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            try {
+                future.get(5, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                result.errors.increment();
+                result.fail("worker failed: " + e);
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - begin;
+    }
+
+    private static void print(StressResult result) {
+        System.out.printf("%-20s %12d %12d %10d %12.1f   %s%n",
+                result.name, result.calls.sum(), result.mismatches.sum(), result.errors.sum(),
+                result.elapsedNanos / 1_000_000.0, result.passed() ? "✓" : "✗");
+        if (!result.passed()) {
+            System.out.println("    first failure: " + result.firstFailure.get());
+        }
+    }
+
+    private static String abbreviate(String s) {
+        if (s == null) return "null";
+        return s.length() <= 40 ? "\"" + s + "\"" : "\"" + s.substring(0, 37) + "...\"";
+    }
+}
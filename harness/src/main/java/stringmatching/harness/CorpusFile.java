@@ -0,0 +1,282 @@
+package stringmatching.harness;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary test case corpus (.smc), read through a memory-mapped file.
+ *
+ * Layout (big-endian; "varint" = unsigned LEB128):
+ * <pre>
+ *   int    magic 'SMC1'
+ *   short  version (1)
+ *   short  flags (0)
+ *   int    number of cases
+ *   per case:
+ *     varint name length, UTF-8 name bytes
+ *     byte   pattern coding, varint pattern length (chars), pattern payload
+ *     varint match count, varint first position, varint gaps to the next positions
+ *     byte   text coding, varint text length (chars), text payload
+ * </pre>
+ * Coding 0 is Latin-1 (1 byte per char), coding 1 is UTF-16 (2 bytes per char),
+ * chosen per string. Indexing a corpus only walks the small headers; a text is
+ * decoded from the mapping when its case is first used.
+ */
+public class CorpusFile {
+
+    private static final int MAGIC = 0x534D4331; // "SMC1"
+    private static final short VERSION = 1;
+    private static final int LATIN1 = 0;
+    private static final int UTF16 = 1;
+    private static final int CHUNK = 1 << 16;
+
+    // ----------------- Writing -----------------
+
+    /**
+     * Write test cases to a corpus file
+     * @throws IllegalArgumentException if an expected result is not a comma-separated list of positions
+     */
+    public static void write(List<TestCase> testCases, Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), CHUNK))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeInt(testCases.size());
+            byte[] chunk = new byte[CHUNK];
+            for (TestCase testCase : testCases) {
+                byte[] name = testCase.getName().getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, name.length);
+                out.write(name);
+                writeChars(out, testCase.getPattern(), chunk);
+                writePositions(out, testCase.getExpectedResult(), testCase.getName());
+                writeChars(out, testCase.getText(), chunk);
+            }
+        }
+    }
+
+    private static void writeChars(OutputStream out, String s, byte[] chunk) throws IOException {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) <= 0xFF;
+        }
+        out.write(latin1 ? LATIN1 : UTF16);
+        writeVarint(out, s.length());
+
+        int bytesPerChar = latin1 ? 1 : 2;
+        int k = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (k + bytesPerChar > chunk.length) {
+                out.write(chunk, 0, k);
+                k = 0;
+            }
+            char c = s.charAt(i);
+            if (!latin1) {
+                chunk[k++] = (byte) (c >>> 8);
+            }
+            chunk[k++] = (byte) c;
+        }
+        out.write(chunk, 0, k);
+    }
+
+    // "0,5,10" -> 3, 0, 5, 5
+    private static void writePositions(OutputStream out, String expected, String name) throws IOException {
+        if (expected.isEmpty()) {
+            writeVarint(out, 0);
+            return;
+        }
+        String[] parts = expected.split(",");
+        writeVarint(out, parts.length);
+        long previous = 0;
+        for (String part : parts) {
+            long position;
+            try {
+                position = Long.parseLong(part.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected result of '" + name + "' is not a list of positions");
+            }
+            if (position < previous) {
+                throw new IllegalArgumentException("Expected positions of '" + name + "' are not ascending");
+            }
+            writeVarint(out, position - previous);
+            previous = position;
+        }
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // ----------------- Reading -----------------
+
+    /**
+     * Index a corpus: names and offsets are read now, texts when a case is used
+     */
+    public static List<TestCase> index(Path file) throws IOException {
+        ByteBuffer buffer = map(file);
+        if (buffer.limit() < 12 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a corpus file: " + file.getFileName());
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported corpus version " + version + " in " + file.getFileName());
+        }
+        int count = buffer.getInt(8);
+        Cursor in = new Cursor(buffer, 12);
+
+        List<TestCase> testCases = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int start = in.pos;
+            String name = in.readUtf8();
+            in.skipChars();         // pattern
+            in.skipPositions();     // expected
+            in.skipChars();         // text
+            testCases.add(new TestCase(name, file, in.pos - start, () -> readCase(buffer, start)));
+        }
+        return testCases;
+    }
+
+    /**
+     * Read every case of a corpus into memory
+     */
+    public static List<TestCase> readAll(Path file) throws IOException {
+        List<TestCase> testCases = index(file);
+        for (TestCase testCase : testCases) {
+            testCase.load();
+        }
+        return testCases;
+    }
+
+    private static TestCase readCase(ByteBuffer buffer, int offset) {
+        Cursor in = new Cursor(buffer, offset);
+        String name = in.readUtf8();
+        String pattern = in.readChars();
+        String expected = in.readPositions();
+        String text = in.readChars();
+        return new TestCase(name, text, pattern, expected);
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Corpus files are limited to 2 GB: " + file.getFileName());
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Read position over a shared mapping; only absolute gets, so cursors on
+     * different threads do not interfere
+     */
+    private static final class Cursor {
+        final ByteBuffer buffer;
+        int pos;
+
+        Cursor(ByteBuffer buffer, int pos) {
+            this.buffer = buffer;
+            this.pos = pos;
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                if (pos >= buffer.limit()) {
+                    throw new IllegalArgumentException("Corrupt corpus file: truncated at byte " + pos);
+                }
+                byte b = buffer.get(pos++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+                shift += 7;
+                if (shift > 63) throw new IllegalArgumentException("Corrupt corpus file: bad varint at byte " + pos);
+            }
+        }
+
+        int readLength(int bytesPerUnit) {
+            long length = readVarint();
+            if (length * bytesPerUnit > buffer.limit() - pos) {
+                throw new IllegalArgumentException("Corrupt corpus file: length " + length + " at byte " + pos);
+            }
+            return (int) length;
+        }
+
+        String readUtf8() {
+            int length = readLength(1);
+            byte[] bytes = new byte[length];
+            buffer.get(pos, bytes);
+            pos += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int readCoding() {
+            if (pos >= buffer.limit()) {
+                throw new IllegalArgumentException("Corrupt corpus file: truncated at byte " + pos);
+            }
+            int coding = buffer.get(pos++);
+            if (coding != LATIN1 && coding != UTF16) {
+                throw new IllegalArgumentException("Corrupt corpus file: unknown text coding " + coding);
+            }
+            return coding;
+        }
+
+        String readChars() {
+            int coding = readCoding();
+            if (coding == LATIN1) {
+                int length = readLength(1);
+                byte[] bytes = new byte[length];
+                buffer.get(pos, bytes);
+                pos += length;
+                return new String(bytes, StandardCharsets.ISO_8859_1);
+            } else {
+                int length = readLength(2);
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = buffer.getChar(pos + 2 * i);
+                }
+                pos += 2 * length;
+                return new String(chars);
+            }
+        }
+
+        void skipChars() {
+            int bytesPerChar = readCoding() == LATIN1 ? 1 : 2;
+            int length = readLength(bytesPerChar);
+            pos += length * bytesPerChar;
+        }
+
+        String readPositions() {
+            long count = readVarint();
+            StringBuilder sb = new StringBuilder();
+            long position = 0;
+            for (long k = 0; k < count; k++) {
+                position += readVarint();
+                if (k > 0) sb.append(',');
+                sb.append(position);
+            }
+            return sb.toString();
+        }
+
+        void skipPositions() {
+            long count = readVarint();
+            for (long k = 0; k < count; k++) {
+                readVarint();
+            }
+        }
+    }
+}
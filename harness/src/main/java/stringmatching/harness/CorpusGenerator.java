@@ -0,0 +1,181 @@
+package stringmatching.harness;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import stringmatching.core.KMP;
+import stringmatching.core.SearchWorkspace;
+import stringmatching.core.Solution;
+import stringmatching.core.WorkloadGenerator;
+
+/**
+ * Synthetic test suites from WorkloadGenerator, with expected results computed
+ * by the reference engine (KMP: linear on every shape, including the adversarial ones).
+ *
+ * Settings are key=value pairs (defaults in brackets):
+ *   alphabet=binary|dna|english|unicode   [english]
+ *   shape=random|markov|periodic|fibonacci|naive_worst|skip_worst|all_match   [markov]
+ *   size=N[K|M|G]     text length in chars [1M]
+ *   pattern=N         pattern length [16]
+ *   density=D         planted matches per 1000 chars [0.1]
+ *   count=N           number of cases [4]
+ *   seed=N            [42]
+ * The same settings always produce the same suite. The result is a normal
+ * List of TestCase, usable by ManualTestRunner, TestRunner and PreAnalysisComparison,
+ * and can be written as a .smc corpus or JSON Lines.
+ */
+public class CorpusGenerator {
+
+    private static final Solution REFERENCE = new KMP();
+
+    private WorkloadGenerator.Alphabet alphabet = WorkloadGenerator.Alphabet.ENGLISH;
+    private WorkloadGenerator.Shape shape = WorkloadGenerator.Shape.MARKOV;
+    private int size = 1 << 20;
+    private int patternLength = 16;
+    private double density = 0.1;
+    private int count = 4;
+    private long seed = 42;
+
+    /**
+     * Settings from key=value arguments; unknown keys and bad values throw IllegalArgumentException
+     */
+    public static CorpusGenerator fromArgs(String... args) {
+        CorpusGenerator generator = new CorpusGenerator();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            String key = arg.substring(0, eq).toLowerCase(Locale.ROOT);
+            String value = arg.substring(eq + 1);
+            try {
+                switch (key) {
+                    case "alphabet":
+                        generator.alphabet = parseEnum(WorkloadGenerator.Alphabet.class, key, value);
+                        break;
+                    case "shape":
+                        generator.shape = parseEnum(WorkloadGenerator.Shape.class, key, value);
+                        break;
+                    case "size":
+                        generator.size = WorkloadGenerator.parseSize(value);
+                        break;
+                    case "pattern":
+                        generator.patternLength = Integer.parseInt(value);
+                        break;
+                    case "density":
+                        generator.density = Double.parseDouble(value);
+                        break;
+                    case "count":
+                        generator.count = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        generator.seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown setting '" + key + "'");
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for " + key + ": '" + value + "'");
+            }
+        }
+        return generator;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String key, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Bad value for " + key + ": '" + value + "' (one of "
+                + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT) + ")");
+    }
+
+    /**
+     * Generate the suite; cases are built in parallel but do not depend on each other
+     */
+    public List<TestCase> generate() {
+        WorkloadGenerator workloads = new WorkloadGenerator(alphabet, shape, seed);
+        return IntStream.range(0, count).parallel()
+            .mapToObj(k -> toTestCase(workloads, k))
+            .collect(Collectors.toList());
+    }
+
+    private TestCase toTestCase(WorkloadGenerator workloads, int index) {
+        WorkloadGenerator.Workload workload = workloads.generate(index, size, patternLength, density);
+        SearchWorkspace ws = SearchWorkspace.current();
+        REFERENCE.findAll(workload.getText(), workload.getPattern(), ws);
+        String name = String.format(Locale.ROOT, "gen_%s_%s_%s_m%d_%d", shape, alphabet, sizeLabel(size),
+                patternLength, index).toLowerCase(Locale.ROOT);
+        return new TestCase(name, workload.getText(), workload.getPattern(), ws.matchesToString());
+    }
+
+    /**
+     * Short description of the settings, e.g. "markov english 1M, m=16, 0.1 planted/1000 chars, 4 cases, seed 42"
+     */
+    public String describe() {
+        return String.format(Locale.ROOT, "%s %s %s, m=%d, %s planted/1000 chars, %d cases, seed %d",
+                shape.name().toLowerCase(Locale.ROOT), alphabet.name().toLowerCase(Locale.ROOT), sizeLabel(size),
+                patternLength, density, count, seed);
+    }
+
+    private static String sizeLabel(int size) {
+        if (size >= 1 << 30 && size % (1 << 30) == 0) return (size >> 30) + "G";
+        if (size >= 1 << 20 && size % (1 << 20) == 0) return (size >> 20) + "M";
+        if (size >= 1 << 10 && size % (1 << 10) == 0) return (size >> 10) + "K";
+        return String.valueOf(size);
+    }
+
+    // ----------------- Output -----------------
+
+    /**
+     * Write cases as a .smc corpus, or as JSON Lines for any other extension
+     */
+    public static void write(List<TestCase> testCases, Path file) throws IOException {
+        if (file.toString().endsWith(".smc")) {
+            CorpusFile.write(testCases, file);
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (TestCase testCase : testCases) {
+                out.write("{\"name\": ");
+                writeJsonString(out, testCase.getName());
+                out.write(", \"text\": ");
+                writeJsonString(out, testCase.getText());
+                out.write(", \"pattern\": ");
+                writeJsonString(out, testCase.getPattern());
+                out.write(", \"expected\": ");
+                writeJsonString(out, testCase.getExpectedResult());
+                out.write("}\n");
+            }
+        }
+    }
+
+    private static void writeJsonString(Writer out, String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.write(s, start, i - start);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else {
+                    out.write(String.format("\\u%04x", (int) c));
+                }
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+}
@@ -0,0 +1,340 @@
+package stringmatching.harness;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming reader for test case JSON.
+ *
+ * Accepts one object per file, many objects one after another (JSON Lines), or
+ * a top-level array of objects. Each object needs "text", "pattern" and
+ * "expected" ("0,5,10" or [0, 5, 10]); "name" defaults to source#index. Other
+ * keys are skipped.
+ *
+ * Input is read in fixed-size chunks and string values are decoded (all JSON
+ * escapes, including \\uXXXX) straight into one reusable char buffer, so a large
+ * "text" costs that buffer plus the final String, not several copies of the file.
+ */
+public class JsonTestCaseReader implements Closeable {
+
+    private static final int CHUNK = 1 << 16;
+    private static final int INITIAL_VALUE = 1 << 10;
+    private static final int MAX_VALUE = Integer.MAX_VALUE - 16;
+
+    private final Reader in;
+    private final String source;
+    private final char[] chunk = new char[CHUNK];
+    private int pos;
+    private int limit;
+    private int line = 1;
+    private int column;
+
+    private char[] value; // decoded string value, grow-only (doubling up to maxValue)
+    private int valueLength;
+    private final int maxValue; // no value can be longer than this
+
+    private boolean inArray; // inside a top-level [ ... ]
+    private int index;       // objects read so far
+
+    /**
+     * @param maxChars upper bound for the length of a value in chars (e.g. the file size
+     *                 in bytes), or 0 if unknown. Only caps the growth of the value buffer,
+     *                 which starts small and doubles as needed.
+     */
+    public JsonTestCaseReader(Reader in, String source, long maxChars) {
+        this.in = in;
+        this.source = source;
+        this.maxValue = maxChars > 0 ? (int) Math.min(maxChars, MAX_VALUE) : MAX_VALUE;
+        this.value = new char[Math.min(INITIAL_VALUE, Math.max(16, maxValue))];
+    }
+
+    public static JsonTestCaseReader open(Path file) throws IOException {
+        Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8);
+        return new JsonTestCaseReader(reader, file.getFileName().toString(), Files.size(file));
+    }
+
+    /**
+     * All test cases in a file
+     */
+    public static List<TestCase> readAll(Path file) throws IOException {
+        List<TestCase> cases = new ArrayList<>();
+        try (JsonTestCaseReader reader = open(file)) {
+            TestCase testCase;
+            while ((testCase = reader.next()) != null) {
+                cases.add(testCase);
+            }
+        }
+        return cases;
+    }
+
+    /**
+     * Next test case, or null at the end of the input
+     */
+    public TestCase next() throws IOException {
+        int c = skipWhitespace();
+        if (c == '[' && index == 0 && !inArray) {
+            read();
+            inArray = true;
+            c = skipWhitespace();
+        }
+        if (inArray) {
+            if (c == ']') {
+                read();
+                inArray = false;
+                c = skipWhitespace();
+            } else if (index > 0) {
+                expect(',');
+                c = skipWhitespace();
+            }
+        }
+        if (c < 0) {
+            return null;
+        }
+        if (c == ',' && !inArray) { // tolerate separators between JSON Lines
+            read();
+            return next();
+        }
+        return readObject();
+    }
+
+    private TestCase readObject() throws IOException {
+        expect('{');
+        String name = null;
+        String text = null;
+        String pattern = null;
+        String expected = null;
+
+        int c = skipWhitespace();
+        if (c == '}') {
+            read();
+        } else {
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                c = skipWhitespace();
+                switch (key) {
+                    case "name":
+                        name = readString();
+                        break;
+                    case "text":
+                        text = readString();
+                        break;
+                    case "pattern":
+                        pattern = readString();
+                        break;
+                    case "expected":
+                        expected = c == '[' ? readPositions() : readString();
+                        break;
+                    default:
+                        skipValue();
+                }
+                c = skipWhitespace();
+                if (c == ',') {
+                    read();
+                } else if (c == '}') {
+                    read();
+                    break;
+                } else {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        index++;
+        if (text == null || pattern == null || expected == null) {
+            throw error("required fields: text, pattern, expected (name is optional)");
+        }
+        if (name == null) {
+            name = source + "#" + index;
+        }
+        return new TestCase(name, text, pattern, expected);
+    }
+
+    // ----------------- Values -----------------
+
+    private String readString() throws IOException {
+        expect('"');
+        valueLength = 0;
+        while (true) {
+            // Copy the run of plain characters in the current chunk at once
+            int start = pos;
+            while (pos < limit) {
+                char c = chunk[pos];
+                if (c == '"' || c == '\\' || c == '\n') break;
+                pos++;
+            }
+            if (pos > start) {
+                append(chunk, start, pos - start);
+                column += pos - start;
+            }
+            if (pos == limit) {
+                if (!fill()) throw error("unterminated string");
+                continue;
+            }
+
+            int c = read();
+            if (c == '"') {
+                return new String(value, 0, valueLength);
+            } else if (c == '\n') {
+                throw error("unescaped line break in string");
+            }
+            c = read();
+            switch (c) {
+                case '"':  append('"'); break;
+                case '\\': append('\\'); break;
+                case '/':  append('/'); break;
+                case 'b':  append('\b'); break;
+                case 'f':  append('\f'); break;
+                case 'n':  append('\n'); break;
+                case 'r':  append('\r'); break;
+                case 't':  append('\t'); break;
+                case 'u':  append(readHex4()); break;
+                default:   throw error("invalid escape \\" + (c < 0 ? "<eof>" : String.valueOf((char) c)));
+            }
+        }
+    }
+
+    private char readHex4() throws IOException {
+        int v = 0;
+        for (int k = 0; k < 4; k++) {
+            int d = Character.digit(read(), 16);
+            if (d < 0) throw error("invalid \\u escape");
+            v = v * 16 + d;
+        }
+        return (char) v;
+    }
+
+    // [0, 5, 10] -> "0,5,10"
+    private String readPositions() throws IOException {
+        expect('[');
+        StringBuilder sb = new StringBuilder();
+        int c = skipWhitespace();
+        if (c == ']') {
+            read();
+            return "";
+        }
+        while (true) {
+            skipWhitespace();
+            int digits = 0;
+            while ((c = peek()) >= '0' && c <= '9') {
+                sb.append((char) read());
+                digits++;
+            }
+            if (digits == 0) throw error("expected a position");
+            c = skipWhitespace();
+            read();
+            if (c == ']') return sb.toString();
+            if (c != ',') throw error("expected ',' or ']'");
+            sb.append(',');
+        }
+    }
+
+    // Skip a value of a key we do not use (strings, numbers, literals, nested containers)
+    private void skipValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                read();
+                if (c == '{' || c == '[') depth++;
+                else if (c == '}' || c == ']') depth--;
+                else if (c < 0) throw error("unterminated value");
+            } while (depth > 0);
+        } else {
+            while ((c = peek()) >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                read();
+            }
+        }
+    }
+
+    private void append(char c) {
+        if (valueLength == value.length) {
+            value = Arrays.copyOf(value, grow(valueLength + 1));
+        }
+        value[valueLength++] = c;
+    }
+
+    private void append(char[] src, int from, int count) {
+        if (valueLength + count > value.length) {
+            value = Arrays.copyOf(value, grow(valueLength + count));
+        }
+        System.arraycopy(src, from, value, valueLength, count);
+        valueLength += count;
+    }
+
+    private int grow(int needed) {
+        long capacity = Math.min(2L * value.length, maxValue);
+        return (int) Math.min(Math.max(needed, capacity), MAX_VALUE);
+    }
+
+    // ----------------- Characters -----------------
+
+    private boolean fill() throws IOException {
+        limit = in.read(chunk, 0, CHUNK);
+        pos = 0;
+        if (limit < 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return chunk[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        char c = chunk[pos++];
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\uFEFF') {
+            read();
+        }
+        return c;
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = read();
+        if (c != expected) {
+            throw error("expected '" + expected + "' but found " + (c < 0 ? "end of input" : "'" + (char) c + "'"));
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON in " + source + " at line " + line + ", column " + column
+                + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,1008 @@
+package stringmatching.harness;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import stringmatching.core.AdaptivePreAnalysis;
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.BoyerMoore;
+import stringmatching.core.CalibratedPreAnalysis;
+import stringmatching.core.CostModelCalibration;
+import stringmatching.core.GoCrazy;
+import stringmatching.core.HybridSearch;
+import stringmatching.core.KMP;
+import stringmatching.core.PatternCache;
+import stringmatching.core.PreAnalysis;
+import stringmatching.core.PreAnalysisPolicy;
+import stringmatching.core.PreparedPattern;
+import stringmatching.core.SearchMetrics;
+import stringmatching.core.SearchWorkspace;
+import stringmatching.core.Solution;
+import stringmatching.core.StudentPreAnalysis;
+import stringmatching.core.SuffixAutomaton;
+
+/**
+ * String Matching Algorithm Test System
+ *
+ * This program runs string matching algorithms on test cases loaded from JSON files
+ * and displays detailed performance comparisons.
+ *
+ * Usage examples:
+ *   java ManualTest                    - Run all tests with full comparison tables
+ *   java ManualTest 0 1 2              - Run specific tests (0, 1, and 2)
+ *   java ManualTest 0-5                - Run range of tests (0 through 5)
+ *   java ManualTest list               - List all available tests
+ *   java ManualTest info               - Count the shared and hidden tests (files are indexed, not parsed)
+ *   java ManualTest share              - Run only shared tests (for students)
+ *   java ManualTest hidden             - Run only hidden tests (for grading)
+ *   java ManualTest preanalysis [N]    - Run with pre-analysis comparison (skip analysis for texts < N chars)
+ *   java ManualTest index              - Answer all tests from a suffix-automaton index
+ *   java ManualTest alloc              - Count bytes allocated per chooseAlgorithm call
+ *   java ManualTest ignorecase         - Check the case-insensitive engines against a per-char folding reference
+ *   java ManualTest adaptive [rounds]  - Train the adaptive (bandit) pre-analysis, then compare
+ *   java ManualTest calibrate [file]   - Fit a per-machine cost model (default: costmodel.txt)
+ *   java ManualTest calibrated         - Run pre-analysis comparison with the calibrated model
+ *   java ManualTest cache [rounds]     - Repeat pre-analysis runs through the pattern cache
+ *   java ManualTest hybrid             - Show block-wise mode switching on a mixed ASCII/binary text
+ *   java ManualTest robust [0-5 ...]   - Adaptive timing: steady-state warm-up, percentiles, significance
+ *   java ManualTest stress [threads] [rounds] - Share one instance per engine across threads, compare with sequential runs
+ *   java ManualTest convert [in] [out] - Convert JSON test cases (dir or file) to a binary corpus (default: testcases/shared -> shared.smc)
+ *   java ManualTest corpus file [0-5]  - Run the full comparison on the cases of a corpus / JSON file
+ *   java ManualTest generate [key=value ...] [out=file] - Generate a synthetic suite, then run it or write it (.smc / .jsonl)
+ *   java ManualTest jfr [ms] [file]    - Run all tests under Flight Recorder (search events above ms, default 0) and summarize
+ *   java ManualTest metrics [file]     - Run all tests with search metrics on, print them and write them as JSON (default: metrics.json)
+ */
+public class ManualTest {
+    
+    public static void main(String[] args) {
+        printHeader();
+
+        // Index test case files; only the tests this run uses are parsed (in parallel)
+        List<TestCase> sharedTestCases = TestCaseLoader.indexSharedTestCases();
+        List<TestCase> hiddenTestCases = TestCaseLoader.indexHiddenTestCases();
+        boolean selectedOnly = args.length > 0 && Character.isDigit(args[0].charAt(0))
+                || args.length > 1 && args[0].equalsIgnoreCase("robust")
+                || args.length > 0 && (args[0].equalsIgnoreCase("convert") || args[0].equalsIgnoreCase("corpus")
+                        || args[0].equalsIgnoreCase("generate") || args[0].equalsIgnoreCase("info"));
+        if (!selectedOnly) {
+            sharedTestCases = TestCaseLoader.loadInParallel(sharedTestCases);
+            hiddenTestCases = TestCaseLoader.loadInParallel(hiddenTestCases);
+        }
+        List<TestCase> allTests = new ArrayList<>();
+        allTests.addAll(sharedTestCases);
+        allTests.addAll(hiddenTestCases);
+
+        // Create index lists for shared and hidden tests
+        List<Integer> sharedTests = new ArrayList<>();
+        for (int i = 0; i < sharedTestCases.size(); i++) {
+            sharedTests.add(i);
+        }
+        List<Integer> hiddenTests = new ArrayList<>();
+        for (int i = sharedTestCases.size(); i < allTests.size(); i++) {
+            hiddenTests.add(i);
+        }
+        
+        // Parse command line arguments
+        if (args.length == 0) {
+            // Run all tests with full comparison
+            System.out.println("Running ALL tests...\n");
+            runWithFullComparison(allTests, getAllIndices(allTests.size()));
+        } else if (args[0].equalsIgnoreCase("list")) {
+            // List all tests
+            listAllTests(allTests, sharedTests, hiddenTests);
+        } else if (args[0].equalsIgnoreCase("info")) {
+            // Count tests from the index
+            TestCaseLoader.printTestCaseInfo(sharedTestCases, hiddenTestCases);
+        } else if (args[0].equalsIgnoreCase("share") || args[0].equalsIgnoreCase("shared")) {
+            // Run only shared tests
+            System.out.println("Running SHARED tests (for students)...\n");
+            runWithFullComparison(allTests, sharedTests);
+        } else if (args[0].equalsIgnoreCase("hidden") || args[0].equalsIgnoreCase("grading")) {
+            // Run only hidden tests
+            System.out.println("Running HIDDEN tests (for grading)...\n");
+            runWithFullComparison(allTests, hiddenTests);
+        } else if (args[0].equalsIgnoreCase("preanalysis") || args[0].equalsIgnoreCase("pre")) {
+            // Run with pre-analysis comparison, optionally with a skip-below threshold
+            if (args.length > 1) {
+                PreAnalysisPolicy.setCurrent(new PreAnalysisPolicy(Integer.parseInt(args[1]),
+                        PreAnalysisPolicy.current().getFallbackAlgorithm()));
+            }
+            System.out.println("Running with PRE-ANALYSIS comparison...\n");
+            runWithPreAnalysis(allTests);
+        } else if (args[0].equalsIgnoreCase("index") || args[0].equalsIgnoreCase("indexed")) {
+            // Run through the indexed backend (build once, then query)
+            System.out.println("Running with SUFFIX AUTOMATON index...\n");
+            runWithIndex(allTests);
+        } else if (args[0].equalsIgnoreCase("alloc")) {
+            // Allocation-counting benchmark for pre-analysis
+            System.out.println("Running pre-analysis ALLOCATION benchmark...\n");
+            runAllocationBenchmark(allTests);
+        } else if (args[0].equalsIgnoreCase("ignorecase") || args[0].equalsIgnoreCase("ci")) {
+            // Case-insensitive modes on the tests, case-swapped variants and non-ASCII cases
+            System.out.println("Checking CASE-INSENSITIVE engines...\n");
+            if (!runIgnoreCaseCheck(allTests)) {
+                System.exit(1);
+            }
+        } else if (args[0].equalsIgnoreCase("adaptive") || args[0].equalsIgnoreCase("bandit")) {
+            // Online learning pre-analysis
+            int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+            System.out.println("Running ADAPTIVE pre-analysis (" + rounds + " training rounds)...\n");
+            runWithAdaptivePreAnalysis(allTests, rounds);
+        } else if (args[0].equalsIgnoreCase("calibrate")) {
+            // Fit the cost model used by CalibratedPreAnalysis
+            String file = args.length > 1 ? args[1] : CostModelCalibration.DEFAULT_MODEL_FILE;
+            System.out.println("Running cost model CALIBRATION...\n");
+            try {
+                Path model = Paths.get(file);
+                int cells = CostModelCalibration.calibrate(model, (done, total) ->
+                        System.out.printf("  calibrated %d / %d grid points%n", done, total));
+                System.out.println("Cost model (" + cells + " fitted cells) written to " + model.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Error writing cost model: " + e.getMessage());
+            }
+        } else if (args[0].equalsIgnoreCase("calibrated")) {
+            // Pre-analysis comparison with the calibrated cost model
+            System.out.println("Running with CALIBRATED pre-analysis...\n");
+            PreAnalysis preAnalysis = new CalibratedPreAnalysis();
+            List<PreAnalysisComparison.ComparisonResult> results =
+                    PreAnalysisComparison.runComparison(preAnalysis, allTests);
+            PreAnalysisComparison.printComparisonTable(results, preAnalysis);
+        } else if (args[0].equalsIgnoreCase("cache")) {
+            // Repeated patterns served from the pattern cache
+            int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+            System.out.println("Running pre-analysis through the PATTERN CACHE (" + rounds + " rounds)...\n");
+            runWithPatternCache(allTests, rounds);
+        } else if (args[0].equalsIgnoreCase("hybrid")) {
+            // Mid-scan switching between skipping and linear scanning
+            System.out.println("Running HYBRID engine on a text whose distribution changes...\n");
+            runHybridDemo();
+        } else if (args[0].equalsIgnoreCase("robust")) {
+            // Statistically robust timing for all or the given tests
+            List<Integer> testIndices = args.length > 1
+                    ? loadSelected(allTests, parseTestIndices(Arrays.copyOfRange(args, 1, args.length), allTests.size()))
+                    : getAllIndices(allTests.size());
+            System.out.println("Running with ADAPTIVE timing (warm-up to steady state)...\n");
+            runWithRobustTiming(allTests, testIndices);
+        } else if (args[0].equalsIgnoreCase("stress")) {
+            // Concurrent use of the shared engine instances
+            int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 2;
+            int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+            System.out.println("Running CONCURRENCY stress test...\n");
+            if (!ConcurrencyStress.run(allTests, threads, rounds)) {
+                System.exit(1);
+            }
+        } else if (args[0].equalsIgnoreCase("convert")) {
+            // JSON test cases to the binary corpus format
+            Path in = Paths.get(args.length > 1 ? args[1] : "testcases/shared");
+            Path out = Paths.get(args.length > 2 ? args[2] : "shared.smc");
+            convertToCorpus(in, out);
+        } else if (args[0].equalsIgnoreCase("corpus") && args.length > 1) {
+            // Cases of one file, parsed only for the selected tests
+            runCorpus(Paths.get(args[1]), Arrays.copyOfRange(args, 2, args.length));
+        } else if (args[0].equalsIgnoreCase("generate") || args[0].equalsIgnoreCase("gen")) {
+            // Deterministic synthetic suite, run directly or written to a file
+            runGenerated(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args[0].equalsIgnoreCase("jfr")) {
+            // Flight Recorder events of the searches, next to GC and JIT events
+            double thresholdMs = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+            Path file = Paths.get(args.length > 2 ? args[2] : "search.jfr");
+            runWithFlightRecorder(allTests, thresholdMs, file);
+        } else if (args[0].equalsIgnoreCase("metrics")) {
+            // Latency histograms, throughput, decisions and cache hit rates
+            Path file = Paths.get(args.length > 1 ? args[1] : "metrics.json");
+            runWithMetrics(allTests, file);
+        } else {
+            // Parse test indices
+            List<Integer> testIndices = loadSelected(allTests, parseTestIndices(args, allTests.size()));
+            if (testIndices.isEmpty()) {
+                System.out.println("No valid test indices provided. Use 'java ManualTest list' to see available tests.");
+                return;
+            }
+            runWithFullComparison(allTests, testIndices);
+        }
+    }
+    
+    /**
+     * Run tests with full comparison tables (time comparison + algorithm comparison)
+     */
+    private static void runWithFullComparison(List<TestCase> allTests, List<Integer> testIndices) {
+        // Get the test cases to run
+        List<TestCase> testsToRun = new ArrayList<>();
+        for (int idx : testIndices) {
+            testsToRun.add(allTests.get(idx));
+        }
+
+        // Run the tests with ManualTestRunner (detailed time comparison)
+        List<ManualTestRunner.TestExecutionResult> results = ManualTestRunner.runTests(allTests, testIndices);
+
+        // Display detailed time comparison
+        ManualTestRunner.printDetailedResultsTable(results);
+
+        // Add PreAnalysis comparison using YOUR implementation
+        System.out.println("\n" + "=".repeat(120));
+        System.out.println("Running PreAnalysis comparison (using YOUR StudentPreAnalysis)...");
+        System.out.println("=".repeat(120));
+
+        PreAnalysis preAnalysis = new StudentPreAnalysis();
+        List<PreAnalysisComparison.ComparisonResult> preAnalysisResults =
+                PreAnalysisComparison.runComparison(preAnalysis, testsToRun);
+
+        // Print detailed algorithm comparison
+        PreAnalysisComparison.printDetailedAlgorithmComparison(preAnalysisResults);
+
+        System.out.println("\n✓ Testing complete!");
+    }
+
+    /**
+     * Time every algorithm until its timings are stable and only declare a winner
+     * when it is significantly faster than the runner-up
+     */
+    private static void runWithRobustTiming(List<TestCase> allTests, List<Integer> testIndices) {
+        List<ManualTestRunner.TestExecutionResult> results = ManualTestRunner.runTests(allTests, testIndices, true);
+        ManualTestRunner.printDetailedResultsTable(results);
+        ManualTestRunner.printTimingDistribution(results);
+        ManualTestRunner.printFastestAlgorithmComparison(results);
+    }
+
+    /**
+     * Write all cases of a JSON file or directory to a binary corpus and compare sizes
+     */
+    private static void convertToCorpus(Path in, Path out) {
+        try {
+            List<TestCase> cases = new ArrayList<>();
+            long jsonBytes = 0;
+            if (Files.isDirectory(in)) {
+                try (Stream<Path> files = Files.list(in)) {
+                    for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                        String name = file.toString();
+                        if (name.endsWith(".json") || name.endsWith(".jsonl")) {
+                            cases.addAll(TestCaseLoader.loadTestCasesFromFile(file));
+                            jsonBytes += Files.size(file);
+                        }
+                    }
+                }
+            } else {
+                cases.addAll(TestCaseLoader.loadTestCasesFromFile(in));
+                jsonBytes = Files.size(in);
+            }
+            CorpusFile.write(cases, out);
+            System.out.printf("Wrote %d test cases to %s (%,d bytes; JSON input: %,d bytes)%n",
+                    cases.size(), out, Files.size(out), jsonBytes);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error converting " + in + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Full comparison on the cases of a .smc / .json / .jsonl file
+     */
+    private static void runCorpus(Path file, String[] indexArgs) {
+        List<TestCase> cases;
+        try {
+            cases = file.toString().endsWith(".smc")
+                    ? CorpusFile.index(file)
+                    : TestCaseLoader.loadTestCasesFromFile(file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading " + file + ": " + e.getMessage());
+            return;
+        }
+        List<Integer> testIndices = indexArgs.length > 0
+                ? parseTestIndices(indexArgs, cases.size())
+                : getAllIndices(cases.size());
+        testIndices = loadSelected(cases, testIndices);
+        System.out.println("Running " + testIndices.size() + " of " + cases.size() + " cases from " + file + "...\n");
+        runWithFullComparison(cases, testIndices);
+    }
+
+    /**
+     * Generate a synthetic suite; with out=file write it, otherwise run the full comparison on it
+     */
+    private static void runGenerated(String[] settings) {
+        String out = null;
+        List<String> generatorArgs = new ArrayList<>();
+        for (String setting : settings) {
+            if (setting.startsWith("out=")) {
+                out = setting.substring(4);
+            } else {
+                generatorArgs.add(setting);
+            }
+        }
+
+        List<TestCase> cases;
+        CorpusGenerator generator;
+        try {
+            generator = CorpusGenerator.fromArgs(generatorArgs.toArray(new String[0]));
+            long start = System.nanoTime();
+            cases = generator.generate();
+            System.out.printf("Generated %s in %.1f ms%n", generator.describe(), (System.nanoTime() - start) / 1e6);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error generating test cases: " + e.getMessage());
+            return;
+        }
+
+        if (out != null) {
+            Path file = Paths.get(out);
+            try {
+                CorpusGenerator.write(cases, file);
+                System.out.printf("Wrote %d test cases to %s (%,d bytes)%n", cases.size(), file, Files.size(file));
+            } catch (IOException e) {
+                System.err.println("Error writing " + file + ": " + e.getMessage());
+            }
+            return;
+        }
+        System.out.println();
+        runWithFullComparison(cases, getAllIndices(cases.size()));
+    }
+
+    /**
+     * Record the full comparison with Flight Recorder (JDK default settings plus the
+     * string matching events at the given threshold), dump it and summarize it
+     */
+    private static void runWithFlightRecorder(List<TestCase> allTests, double thresholdMs, Path file) {
+        Duration threshold = Duration.ofNanos(Math.round(thresholdMs * 1e6));
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.enable("stringmatching.Search").withThreshold(threshold);
+            recording.enable("stringmatching.PreAnalysis").withThreshold(threshold);
+            recording.enable("stringmatching.PreAnalysisOutcome");
+            recording.start();
+            runWithFullComparison(allTests, getAllIndices(allTests.size()));
+            recording.stop();
+            recording.dump(file);
+        } catch (IOException | ParseException e) {
+            System.err.println("Error recording to " + file + ": " + e.getMessage());
+            return;
+        }
+
+        List<RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(file);
+        } catch (IOException e) {
+            System.err.println("Error reading " + file + ": " + e.getMessage());
+            return;
+        }
+        Map<String, Integer> perType = new TreeMap<>();
+        List<RecordedEvent> searches = new ArrayList<>();
+        int outcomes = 0;
+        int choseFastest = 0;
+        for (RecordedEvent event : events) {
+            String type = event.getEventType().getName();
+            perType.merge(type, 1, Integer::sum);
+            if (type.equals("stringmatching.Search")) {
+                searches.add(event);
+            } else if (type.equals("stringmatching.PreAnalysisOutcome")) {
+                outcomes++;
+                if (event.getBoolean("choseFastest")) choseFastest++;
+            }
+        }
+
+        System.out.println();
+        System.out.println("=".repeat(100));
+        System.out.printf("FLIGHT RECORDING %s (%,d bytes, threshold %.3f ms)%n",
+                file, Files.exists(file) ? file.toFile().length() : 0, thresholdMs);
+        System.out.println("-".repeat(100));
+        for (String type : new String[] { "stringmatching.Search", "stringmatching.PreAnalysis",
+                "stringmatching.PreAnalysisOutcome", "jdk.GarbageCollection", "jdk.Compilation", "jdk.Deoptimization" }) {
+            System.out.printf("%-40s %8d events%n", type, perType.getOrDefault(type, 0));
+        }
+        if (outcomes > 0) {
+            System.out.printf("Pre-analysis chose the fastest algorithm in %d of %d recorded outcomes%n", choseFastest, outcomes);
+        }
+
+        searches.sort((a, b) -> b.getDuration().compareTo(a.getDuration()));
+        if (!searches.isEmpty()) {
+            System.out.println("-".repeat(100));
+            System.out.printf("%-16s %12s %10s %8s %14s%n", "Slowest searches", "Text length", "Pattern", "Matches", "Duration (μs)");
+            for (RecordedEvent event : searches.subList(0, Math.min(5, searches.size()))) {
+                System.out.printf("%-16s %12d %10d %8d %14.3f%n",
+                        event.getString("algorithm"), event.getInt("textLength"), event.getInt("patternLength"),
+                        event.getInt("matchCount"), event.getDuration().toNanos() / 1000.0);
+            }
+        }
+        System.out.println("=".repeat(100));
+        System.out.println("Open " + file + " in JDK Mission Control to line searches up with GC and JIT activity.");
+    }
+
+    /**
+     * Run the full comparison, the pre-analysis comparison and a few rounds through the
+     * pattern cache with SearchMetrics on, then print the metrics and write them as JSON
+     */
+    private static void runWithMetrics(List<TestCase> allTests, Path file) {
+        SearchMetrics metrics = SearchMetrics.global();
+        boolean wasEnabled = SearchMetrics.isEnabled();
+        SearchMetrics.setEnabled(true);
+        metrics.reset();
+        try {
+            runWithFullComparison(allTests, getAllIndices(allTests.size()));
+            PreAnalysis preAnalysis = new StudentPreAnalysis();
+            PreAnalysisComparison.runComparison(preAnalysis, allTests);
+            for (int round = 0; round < 3; round++) {
+                for (TestCase test : allTests) {
+                    TestRunner.runWithPreAnalysis(preAnalysis, test);
+                }
+            }
+
+            System.out.println();
+            System.out.print(metrics.toText());
+            Files.writeString(file, metrics.toJson());
+            System.out.println("Metrics written to " + file);
+        } catch (IOException e) {
+            System.err.println("Error writing " + file + ": " + e.getMessage());
+        } finally {
+            SearchMetrics.setEnabled(wasEnabled);
+        }
+    }
+
+    /**
+     * Run with pre-analysis comparison
+     * This tests YOUR PreAnalysis implementation (StudentPreAnalysis)
+     */
+    private static void runWithPreAnalysis(List<TestCase> allTests) {
+        System.out.println("Running pre-analysis comparison on all test cases...\n");
+        System.out.println("NOTE: This uses YOUR StudentPreAnalysis implementation.");
+        System.out.println("      Make sure to implement the chooseAlgorithm() method!\n");
+
+        // Use StudentPreAnalysis - this is YOUR implementation
+        PreAnalysis preAnalysis = new StudentPreAnalysis();
+
+        List<PreAnalysisComparison.ComparisonResult> preAnalysisResults =
+                PreAnalysisComparison.runComparison(preAnalysis, allTests);
+
+        // Print pre-analysis comparison table
+        PreAnalysisComparison.printComparisonTable(preAnalysisResults, preAnalysis);
+
+        // Print detailed algorithm comparison
+        PreAnalysisComparison.printDetailedAlgorithmComparison(preAnalysisResults);
+
+        System.out.println("\n✓ Pre-analysis testing complete!");
+    }
+    
+    /**
+     * Let AdaptivePreAnalysis learn over several rounds, then print the usual comparison
+     */
+    private static void runWithAdaptivePreAnalysis(List<TestCase> allTests, int rounds) {
+        AdaptivePreAnalysis preAnalysis = new AdaptivePreAnalysis();
+
+        for (int round = 1; round < rounds; round++) {
+            List<PreAnalysisComparison.ComparisonResult> results =
+                    PreAnalysisComparison.runComparison(preAnalysis, allTests);
+            int correct = 0;
+            for (PreAnalysisComparison.ComparisonResult result : results) {
+                if (result.preAnalysisChoseFastest) correct++;
+            }
+            System.out.printf("Round %2d: chose fastest %d / %d%n", round, correct, results.size());
+        }
+
+        List<PreAnalysisComparison.ComparisonResult> finalResults =
+                PreAnalysisComparison.runComparison(preAnalysis, allTests);
+        PreAnalysisComparison.printComparisonTable(finalResults, preAnalysis);
+
+        System.out.println("\n✓ Adaptive pre-analysis testing complete!");
+    }
+
+    /**
+     * Run every test through TestRunner.runWithPreAnalysis several times; the first round
+     * fills the pattern cache, later rounds skip analysis and table construction
+     */
+    private static void runWithPatternCache(List<TestCase> allTests, int rounds) {
+        PreAnalysis preAnalysis = new StudentPreAnalysis();
+        PatternCache cache = TestRunner.PATTERN_CACHE;
+        cache.clear();
+
+        System.out.println("=".repeat(100));
+        System.out.printf("%-8s %10s %18s %18s %12s%n", "Round", "Passed", "Avg analysis(μs)", "Avg exec(μs)", "Hit rate");
+        System.out.println("-".repeat(100));
+
+        for (int round = 1; round <= rounds; round++) {
+            long hitsBefore = cache.getHits();
+            long missesBefore = cache.getMisses();
+            long analysisNanos = 0;
+            long execNanos = 0;
+            int passed = 0;
+            for (TestCase test : allTests) {
+                TestRunner.PreAnalysisResult result = TestRunner.runWithPreAnalysis(preAnalysis, test);
+                analysisNanos += result.analysisTimeNanos;
+                execNanos += result.algorithmExecutionTimeNanos;
+                if (result.success) passed++;
+            }
+            long hits = cache.getHits() - hitsBefore;
+            long lookups = hits + cache.getMisses() - missesBefore;
+            System.out.printf("%-8d %10s %18.3f %18.3f %11.1f%%%n",
+                    round, passed + "/" + allTests.size(),
+                    analysisNanos / 1000.0 / allTests.size(),
+                    execNanos / 1000.0 / allTests.size(),
+                    lookups == 0 ? 0 : 100.0 * hits / lookups);
+        }
+
+        System.out.println("=".repeat(100));
+        System.out.println(cache);
+        System.out.println();
+        checkTextDependentDecisions();
+    }
+
+    /**
+     * Same pattern and text length, different alphabets: the cache must give each text
+     * the decision the strategy makes for it, not the one made for the first text
+     */
+    private static void checkTextDependentDecisions() {
+        Random random = new Random(42);
+        String pattern = "abab";
+        String[][] texts = {
+            { "{a,b}", randomText(random, "ab", 8192) },
+            { "{a..z}", randomText(random, "abcdefghijklmnopqrstuvwxyz", 8192) },
+        };
+        PreAnalysis[] strategies = { new StudentPreAnalysis(), new CalibratedPreAnalysis() };
+
+        System.out.println("TEXT-DEPENDENT DECISIONS (pattern \"" + pattern + "\", 8192-char texts):");
+        System.out.println("-".repeat(100));
+        System.out.printf("%-24s %-10s %-14s %-14s %s%n", "Strategy", "Text", "Direct", "Cached", "");
+        boolean ok = true;
+        for (PreAnalysis strategy : strategies) {
+            PatternCache cache = new PatternCache(1 << 20);
+            for (String[] text : texts) {
+                String direct = strategy.chooseAlgorithm(text[1], pattern);
+                PreparedPattern prepared = cache.get(strategy, text[1], pattern, AlgorithmRegistry::get);
+                String cached = prepared == null ? null : prepared.getAlgorithmName();
+                boolean same = Objects.equals(direct, cached);
+                ok &= same;
+                System.out.printf("%-24s %-10s %-14s %-14s %s%n", strategy.getClass().getSimpleName(),
+                        text[0], direct, cached, same ? "✓" : "✗");
+            }
+        }
+        System.out.println("-".repeat(100));
+        System.out.println(ok ? "✓ Cached decisions match the strategy for every text"
+                              : "✗ A cached decision was reused for a text the strategy decides differently");
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Search a log-like text that turns into a low-entropy "binary" blob halfway
+     * through and back, and compare the hybrid engine with fixed choices
+     */
+    private static void runHybridDemo() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        String words = "INFO WARN request served user session cache miss latency ok ";
+        for (int part = 0; part < 4; part++) {
+            boolean binary = part % 2 == 1;
+            for (int i = 0; i < 200_000; i++) {
+                sb.append(binary ? (char) (random.nextInt(16) == 0 ? 1 : 0) : words.charAt(random.nextInt(words.length())));
+            }
+        }
+        String text = sb.toString();
+        String[] patterns = { "latency spike", "\0\0\0\0\0\0\0\1" };
+
+        Solution[] engines = { new GoCrazy(), new KMP(), new HybridSearch() };
+        for (String pattern : patterns) {
+            System.out.println("=".repeat(100));
+            System.out.printf("Pattern length %d, text length %d%n", pattern.length(), text.length());
+            System.out.println("-".repeat(100));
+            String expected = engines[1].Solve(text, pattern);
+            for (Solution engine : engines) {
+                for (int i = 0; i < 3; i++) engine.Solve(text, pattern); // warm-up
+                String result = null;
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < 5; run++) {
+                    long start = System.nanoTime();
+                    result = engine.Solve(text, pattern);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                System.out.printf("%-14s %12.3f ms (best of 5)  %s%n", engine.getName(), best / 1_000_000.0,
+                        result.equals(expected) ? "✓ same matches" : "✗ DIFFERENT");
+            }
+            HybridSearch.Stats stats = new HybridSearch.Stats();
+            HybridSearch.search(text, pattern, stats);
+            System.out.printf("Hybrid: %d skip blocks, %d linear blocks, %d switches, verification rate %.1f%%%n",
+                    stats.getSkipBlocks(), stats.getLinearBlocks(), stats.getSwitches(), stats.verificationRate() * 100);
+        }
+        System.out.println("=".repeat(100));
+    }
+
+    /**
+     * Answer every test from a suffix automaton and show build vs query cost
+     */
+    private static void runWithIndex(List<TestCase> allTests) {
+        System.out.println("=".repeat(100));
+        System.out.printf("%-32s %-8s %12s %12s %8s %10s %10s%n",
+                "Test Case", "Status", "Build(μs)", "Query(μs)", "Count", "States", "B/char");
+        System.out.println("-".repeat(100));
+
+        int passed = 0;
+        for (TestCase test : allTests) {
+            long buildStart = System.nanoTime();
+            SuffixAutomaton index = SuffixAutomaton.build(test.getText());
+            long buildEnd = System.nanoTime();
+
+            long queryStart = System.nanoTime();
+            int[] starts = index.findAll(test.getPattern());
+            long queryEnd = System.nanoTime();
+
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < starts.length; i++) {
+                if (i > 0) sb.append(",");
+                sb.append(starts[i]);
+            }
+            boolean ok = sb.toString().equals(test.getExpectedResult());
+            if (ok) passed++;
+
+            System.out.printf("%-32s %-8s %12.3f %12.3f %8d %10d %10.1f%n",
+                    truncate(test.getName(), 31),
+                    ok ? "✓ PASS" : "✗ FAIL",
+                    (buildEnd - buildStart) / 1000.0,
+                    (queryEnd - queryStart) / 1000.0,
+                    index.count(test.getPattern()),
+                    index.stateCount(),
+                    index.estimatedBytes() / (double) Math.max(1, test.getText().length()));
+        }
+
+        System.out.println("=".repeat(100));
+        System.out.printf("Indexed backend: %d / %d passed%n", passed, allTests.size());
+    }
+
+    /**
+     * Measure heap bytes allocated per StudentPreAnalysis.chooseAlgorithm call
+     * (per-thread allocation counter, after a warm-up so the JIT has compiled the decision)
+     */
+    private static void runAllocationBenchmark(List<TestCase> allTests) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads)) {
+            System.out.println("Allocation counting is not supported by this JVM.");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final int warmup = 20_000;
+        final int calls = 10_000;
+        PreAnalysis preAnalysis = new StudentPreAnalysis();
+
+        // Warm up every input first so compilation does not show up as allocation
+        for (TestCase test : allTests) {
+            for (int i = 0; i < warmup; i++) {
+                preAnalysis.chooseAlgorithm(test.getText(), test.getPattern());
+            }
+        }
+
+        System.out.println("=".repeat(100));
+        System.out.printf("%-32s %-12s %16s %16s%n", "Test Case", "Choice", "Bytes/call", "ns/call");
+        System.out.println("-".repeat(100));
+
+        long totalBytes = 0;
+        for (TestCase test : allTests) {
+            String choice = null;
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                choice = preAnalysis.chooseAlgorithm(test.getText(), test.getPattern());
+            }
+            long end = System.nanoTime();
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            totalBytes += bytes;
+
+            System.out.printf("%-32s %-12s %16.2f %16.1f%n",
+                    truncate(test.getName(), 31), choice, bytes / (double) calls, (end - start) / (double) calls);
+        }
+
+        System.out.println("=".repeat(100));
+        if (totalBytes == 0) {
+            System.out.println("✓ Zero allocations per chooseAlgorithm call");
+        } else {
+            System.out.printf("✗ %.2f bytes allocated per call on average%n",
+                    totalBytes / (double) calls / allTests.size());
+        }
+
+        // Same measurement for the searches themselves, through a reused workspace
+        // (case-insensitive modes included: their folded pattern is kept in the workspace)
+        Map<String, Solution> engines = new LinkedHashMap<>();
+        for (Solution engine : AlgorithmRegistry.all()) {
+            engines.put(engine.getName(), engine);
+        }
+        engines.putAll(ignoreCaseEngines());
+        SearchWorkspace workspace = new SearchWorkspace();
+        for (Solution engine : engines.values()) {
+            for (TestCase test : allTests) {
+                for (int i = 0; i < warmup / 10; i++) {
+                    engine.findAll(test.getText(), test.getPattern(), workspace);
+                    engine.Solve(test.getText(), test.getPattern());
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("=".repeat(100));
+        System.out.printf("%-16s %16s %16s %16s%n", "Engine", "findAll B/call", "Solve B/call", "ns/findAll");
+        System.out.println("-".repeat(100));
+        int searchCalls = calls / 10;
+        for (Map.Entry<String, Solution> entry : engines.entrySet()) {
+            Solution engine = entry.getValue();
+            long findAllBytes = 0;
+            long solveBytes = 0;
+            long nanos = 0;
+            for (TestCase test : allTests) {
+                long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < searchCalls; i++) {
+                    engine.findAll(test.getText(), test.getPattern(), workspace);
+                }
+                nanos += System.nanoTime() - start;
+                findAllBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+                bytesBefore = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < searchCalls; i++) {
+                    engine.Solve(test.getText(), test.getPattern());
+                }
+                solveBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            }
+            double perCall = (double) searchCalls * allTests.size();
+            System.out.printf("%-16s %16.2f %16.2f %16.1f%n",
+                    entry.getKey(), findAllBytes / perCall, solveBytes / perCall, nanos / perCall);
+        }
+        System.out.println("=".repeat(100));
+        System.out.printf("Workspace holds %,d bytes of scratch; Solve only allocates its result String%n",
+                workspace.retainedBytes());
+    }
+
+    /**
+     * The engines with a case-insensitive mode, by display name
+     */
+    private static Map<String, Solution> ignoreCaseEngines() {
+        Map<String, Solution> engines = new LinkedHashMap<>();
+        engines.put("KMP -i", new KMP(true));
+        engines.put("BoyerMoore -i", new BoyerMoore(true));
+        engines.put("GoCrazy -i", new GoCrazy(true));
+        return engines;
+    }
+
+    /**
+     * Compare findAll and prepare().solve of the case-insensitive engines with a brute-force
+     * reference that folds every char with toLowerCase(toUpperCase(c)), on every test case,
+     * its case-swapped text and pattern, and texts with 'ß', 'ẞ', 'İ', 'ı', final sigma and
+     * the Kelvin sign
+     * @return true if all results agree
+     */
+    private static boolean runIgnoreCaseCheck(List<TestCase> allTests) {
+        List<String[]> inputs = new ArrayList<>();
+        for (TestCase test : allTests) {
+            inputs.add(new String[] { test.getText(), test.getPattern() });
+            inputs.add(new String[] { swapCase(test.getText()), test.getPattern() });
+            inputs.add(new String[] { test.getText(), swapCase(test.getPattern()) });
+        }
+        inputs.add(new String[] { "Straße STRASSE straße STRAẞE strasse", "straße" });
+        inputs.add(new String[] { "Straße STRASSE straße STRAẞE strasse", "STRAẞE" });
+        inputs.add(new String[] { "İstanbul istanbul ISTANBUL ıstanbul", "istanbul" });
+        inputs.add(new String[] { "İstanbul istanbul ISTANBUL ıstanbul", "İSTANBUL" });
+        inputs.add(new String[] { "ΣΊΣΥΦΟΣ σίσυφος σίσυφοσ", "σίσυφος" });
+        inputs.add(new String[] { "5 \u212A = 5 k = 5 K", "k" });
+        inputs.add(new String[] { "aAaAaAaA", "AA" });
+
+        System.out.println("=".repeat(100));
+        System.out.printf("%-16s %10s %10s %12s%n", "Engine", "Inputs", "Matches", "Mismatches");
+        System.out.println("-".repeat(100));
+        boolean ok = true;
+        SearchWorkspace workspace = new SearchWorkspace();
+        for (Map.Entry<String, Solution> entry : ignoreCaseEngines().entrySet()) {
+            Solution engine = entry.getValue();
+            int matches = 0;
+            int mismatches = 0;
+            for (String[] input : inputs) {
+                String expected = foldedMatches(input[0], input[1]);
+                engine.findAll(input[0], input[1], workspace);
+                String actual = workspace.matchesToString();
+                String prepared = engine.prepare(input[1]).solve(input[0]);
+                matches += workspace.matchCount();
+                if (!actual.equals(expected) || !prepared.equals(expected)) {
+                    mismatches++;
+                    if (mismatches <= 3) {
+                        System.out.printf("  %s: text \"%s\", pattern \"%s\": expected [%s], findAll [%s], prepared [%s]%n",
+                                entry.getKey(), truncate(input[0], 40), truncate(input[1], 20),
+                                truncate(expected, 30), truncate(actual, 30), truncate(prepared, 30));
+                    }
+                }
+            }
+            ok &= mismatches == 0;
+            System.out.printf("%-16s %10d %10d %12d%n", entry.getKey(), inputs.size(), matches, mismatches);
+        }
+        System.out.println("=".repeat(100));
+        System.out.println(ok ? "✓ All case-insensitive results agree with the reference"
+                              : "✗ Case-insensitive results differ from the reference");
+        return ok;
+    }
+
+    // Brute-force reference: every position where all chars agree after folding
+    private static String foldedMatches(String text, String pattern) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i + pattern.length() <= text.length(); i++) {
+            int j = 0;
+            while (j < pattern.length() && fold(text.charAt(i + j)) == fold(pattern.charAt(j))) {
+                j++;
+            }
+            if (j == pattern.length()) {
+                if (sb.length() > 0) sb.append(',');
+                sb.append(i);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String swapCase(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            chars[i] = Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * List all available tests
+     */
+    private static void listAllTests(List<TestCase> allTests, List<Integer> sharedTests, List<Integer> hiddenTests) {
+        System.out.println("AVAILABLE TEST CASES:");
+        System.out.println("=".repeat(100));
+        System.out.println();
+        
+        System.out.println("📚 SHARED TESTS (for students):");
+        System.out.println("-".repeat(100));
+        for (int i : sharedTests) {
+            TestCase test = allTests.get(i);
+            System.out.printf("[%2d] %-30s | Text length: %4d | Pattern length: %2d\n",
+                i, test.getName(), test.getText().length(), test.getPattern().length());
+            System.out.printf("     Text: \"%s\"\n", truncate(test.getText(), 70));
+            System.out.printf("     Pattern: \"%s\"\n", test.getPattern());
+            System.out.printf("     Expected: %s\n", test.getExpectedResult().isEmpty() ? "(no match)" : test.getExpectedResult());
+            System.out.println();
+        }
+        
+        System.out.println("\n🔒 HIDDEN TESTS (for instructor grading only):");
+        System.out.println("-".repeat(100));
+        for (int i : hiddenTests) {
+            TestCase test = allTests.get(i);
+            System.out.printf("[%2d] %-30s | Text length: %4d | Pattern length: %2d\n",
+                i, test.getName(), test.getText().length(), test.getPattern().length());
+            System.out.printf("     Text: \"%s\"\n", truncate(test.getText(), 70));
+            System.out.printf("     Pattern: \"%s\"\n", test.getPattern());
+            System.out.printf("     Expected: %s\n", test.getExpectedResult().isEmpty() ? "(no match)" : test.getExpectedResult());
+            System.out.println();
+        }
+        
+        System.out.println("=".repeat(100));
+        System.out.println("\nUSAGE EXAMPLES:");
+        System.out.println("  java ManualTest              - Run all tests with full comparison tables");
+        System.out.println("  java ManualTest 0 1 2        - Run specific tests (0, 1, and 2)");
+        System.out.println("  java ManualTest 0-5          - Run tests 0 through 5");
+        System.out.println("  java ManualTest share        - Run only shared tests (for students)");
+        System.out.println("  java ManualTest hidden       - Run only hidden tests (for grading)");
+        System.out.println("  java ManualTest preanalysis  - Run with pre-analysis comparison");
+        System.out.println("  java ManualTest preanalysis N - Same, but skip pre-analysis for texts shorter than N");
+        System.out.println("  java ManualTest index        - Answer all tests from a suffix-automaton index");
+        System.out.println("  java ManualTest alloc        - Count bytes allocated per pre-analysis call");
+        System.out.println("  java ManualTest ignorecase   - Check the case-insensitive engines, including 'ß' and 'İ'");
+        System.out.println("  java ManualTest adaptive [n] - Train the adaptive pre-analysis for n rounds, then compare");
+        System.out.println("  java ManualTest calibrate    - Fit a per-machine cost model (costmodel.txt)");
+        System.out.println("  java ManualTest calibrated   - Run pre-analysis comparison with the calibrated model");
+        System.out.println("  java ManualTest cache [n]    - Repeat pre-analysis runs n times through the pattern cache");
+        System.out.println("  java ManualTest hybrid       - Show mode switching of the hybrid engine on a mixed text");
+        System.out.println("  java ManualTest robust 0-5   - Adaptive timing with percentiles and significance-tested winners");
+        System.out.println("  java ManualTest stress 8 200 - Hammer one shared instance per engine from 8 threads");
+        System.out.println("  java ManualTest convert      - Convert testcases/shared to the binary corpus shared.smc");
+        System.out.println("  java ManualTest corpus shared.smc 0-5 - Run tests from a corpus file");
+        System.out.println("  java ManualTest generate alphabet=dna shape=markov size=16M - Run a synthetic suite (add out=f.smc to save it)");
+        System.out.println("  java ManualTest jfr 0.05     - Record searches slower than 0.05 ms with Flight Recorder (search.jfr)");
+        System.out.println("  java ManualTest metrics      - Print latency percentiles, throughput, decisions and cache hit rates (metrics.json)");
+        System.out.println("  java ManualTest info         - Count shared and hidden tests without parsing them");
+        System.out.println("  java ManualTest list         - Show this list");
+    }
+    
+    /**
+     * Parse the selected (lazily indexed) tests in parallel; drops those that fail to load
+     */
+    private static List<Integer> loadSelected(List<TestCase> allTests, List<Integer> testIndices) {
+        List<TestCase> selected = new ArrayList<>();
+        for (int i : testIndices) {
+            selected.add(allTests.get(i));
+        }
+        TestCaseLoader.loadInParallel(selected);
+
+        List<Integer> loaded = new ArrayList<>();
+        for (int i : testIndices) {
+            if (allTests.get(i).isLoaded()) {
+                loaded.add(i);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Parse test indices from command line arguments
+     */
+    private static List<Integer> parseTestIndices(String[] args, int maxIndex) {
+        List<Integer> indices = new ArrayList<>();
+        
+        for (String arg : args) {
+            try {
+                // Check for range (e.g., "0-5")
+                if (arg.contains("-")) {
+                    String[] parts = arg.split("-");
+                    if (parts.length == 2) {
+                        int start = Integer.parseInt(parts[0].trim());
+                        int end = Integer.parseInt(parts[1].trim());
+                        for (int i = start; i <= end; i++) {
+                            if (i >= 0 && i < maxIndex && !indices.contains(i)) {
+                                indices.add(i);
+                            }
+                        }
+                    }
+                } else {
+                    // Single index
+                    int index = Integer.parseInt(arg.trim());
+                    if (index >= 0 && index < maxIndex && !indices.contains(index)) {
+                        indices.add(index);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("⚠ Warning: Invalid test index '" + arg + "' (ignored)");
+            }
+        }
+        
+        Collections.sort(indices);
+        return indices;
+    }
+    
+    /**
+     * Get all indices from 0 to size-1
+     */
+    private static List<Integer> getAllIndices(int size) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+    
+    /**
+     * Truncate string for display
+     */
+    private static String truncate(String s, int maxLength) {
+        if (s.length() <= maxLength) {
+            return s;
+        }
+        return s.substring(0, maxLength - 3) + "...";
+    }
+    
+    /**
+     * Print header
+     */
+    private static void printHeader() {
+        System.out.println("╔" + "═".repeat(98) + "╗");
+        System.out.println("║" + center("MANUAL TEST RUNNER - String Matching Algorithms", 98) + "║");
+        System.out.println("╚" + "═".repeat(98) + "╝");
+        System.out.println();
+    }
+    
+    private static String center(String text, int width) {
+        int padding = (width - text.length()) / 2;
+        return " ".repeat(padding) + text + " ".repeat(width - text.length() - padding);
+    }
+}
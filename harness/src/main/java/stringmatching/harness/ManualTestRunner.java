@@ -1,5 +1,12 @@
+package stringmatching.harness;
+
 import java.util.*;
 
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.SearchCounters;
+import stringmatching.core.SearchWorkspace;
+import stringmatching.core.Solution;
+
 /**
  * Manual Test Runner - Allows running specific tests and viewing detailed time comparisons
  */
@@ -11,8 +18,10 @@ public class ManualTestRunner {
     static class AlgorithmTestResult {
         String algorithmName;
         String result;
-        long executionTimeNanos;
+        long executionTimeNanos; // mean of 5 runs, or the median in adaptive mode
         long[] allRunTimes; // Store all 5 run times
+        TimingStats stats;  // percentiles, confidence interval, outliers
+        SearchCounters counters; // one untimed run, only with SearchCounters.ENABLED
         boolean passed;
         boolean implemented;
         Exception error;
@@ -30,6 +39,7 @@ public class ManualTestRunner {
     static class TestExecutionResult {
         TestCase testCase;
         Map<String, AlgorithmTestResult> algorithmResults;
+        boolean adaptive; // timed with TimingStats.measure
         
         public TestExecutionResult(TestCase testCase) {
             this.testCase = testCase;
@@ -41,22 +51,27 @@ public class ManualTestRunner {
      * Get all registered algorithm solutions
      */
     private static List<Solution> getAllSolutions() {
-        List<Solution> solutions = new ArrayList<>();
-        try {
-            for (Class<? extends Solution> algorithmClass : Solution.SUBCLASSES) {
-                Solution instance = algorithmClass.getDeclaredConstructor().newInstance();
-                solutions.add(instance);
-            }
-        } catch (Exception e) {
-            System.err.println("Error creating algorithm instances: " + e.getMessage());
-        }
-        return solutions;
+        return AlgorithmRegistry.all();
     }
 
+    /**
+     * Significance level for declaring a winner (Mann-Whitney U, two-sided)
+     */
+    static final double SIGNIFICANCE = 0.05;
+
     /**
      * Run specific tests by their indices
      */
     public static List<TestExecutionResult> runTests(List<TestCase> allTests, List<Integer> testIndices) {
+        return runTests(allTests, testIndices, false);
+    }
+
+    /**
+     * Run specific tests by their indices
+     * @param adaptive warm up until the timings are stable and take up to 300 samples
+     *                 (see TimingStats.measure) instead of 1 warm-up + 5 runs
+     */
+    public static List<TestExecutionResult> runTests(List<TestCase> allTests, List<Integer> testIndices, boolean adaptive) {
         List<TestExecutionResult> results = new ArrayList<>();
         List<Solution> algorithms = getAllSolutions();
         
@@ -70,12 +85,24 @@ public class ManualTestRunner {
             
             TestCase test = allTests.get(testIndex);
             TestExecutionResult testResult = new TestExecutionResult(test);
+            testResult.adaptive = adaptive;
             
             // Run each algorithm on this test
             for (Solution algorithm : algorithms) {
                 AlgorithmTestResult algResult = new AlgorithmTestResult(algorithm.getName());
 
                 try {
+                    if (adaptive) {
+                        String result = algorithm.Solve(test.getText(), test.getPattern());
+                        algResult.stats = TimingStats.measure(() -> algorithm.Solve(test.getText(), test.getPattern()));
+                        algResult.result = result;
+                        algResult.executionTimeNanos = Math.round(algResult.stats.median());
+                        algResult.passed = result.equals(test.getExpectedResult());
+                        algResult.counters = countOneRun(algorithm, test);
+                        testResult.algorithmResults.put(algorithm.getName(), algResult);
+                        continue;
+                    }
+
                     // Warm up
                     algorithm.Solve(test.getText(), test.getPattern());
 
@@ -92,7 +119,9 @@ public class ManualTestRunner {
 
                     algResult.result = result;
                     algResult.executionTimeNanos = totalTime / 5; // Average time
+                    algResult.stats = new TimingStats(algResult.allRunTimes, 1, 1);
                     algResult.passed = result.equals(test.getExpectedResult());
+                    algResult.counters = countOneRun(algorithm, test);
 
                 } catch (UnsupportedOperationException e) {
                     algResult.implemented = false;
@@ -110,6 +139,19 @@ public class ManualTestRunner {
         return results;
     }
     
+    /**
+     * Counters of one extra, untimed Solve call; null when counting is compiled out
+     */
+    private static SearchCounters countOneRun(Solution algorithm, TestCase test) {
+        if (!SearchCounters.ENABLED) {
+            return null;
+        }
+        SearchCounters counters = SearchWorkspace.current().counters();
+        counters.reset();
+        algorithm.Solve(test.getText(), test.getPattern());
+        return counters.snapshot();
+    }
+
     /**
      * Print detailed results table with execution times
      */
@@ -136,7 +178,9 @@ public class ManualTestRunner {
 
         // Print header
         printSeparatorWithWinner(testNameWidth, algorithmNames.size(), timeWidth, winnerWidth);
-        System.out.println(BOLD + CYAN + "DETAILED TEST RESULTS - Execution Time Comparison (Average of 5 runs)" + RESET);
+        boolean adaptive = isAdaptive(results);
+        System.out.println(BOLD + CYAN + "DETAILED TEST RESULTS - Execution Time Comparison ("
+                + (adaptive ? "Median, adaptive warm-up" : "Average of 5 runs") + ")" + RESET);
         printSeparatorWithWinner(testNameWidth, algorithmNames.size(), timeWidth, winnerWidth);
 
         // Print column headers
@@ -154,15 +198,9 @@ public class ManualTestRunner {
             System.out.print(padRight(testName, testNameWidth));
 
             // Find the fastest algorithm for this test
-            String fastestAlg = null;
-            long fastestTime = Long.MAX_VALUE;
-            for (String algName : algorithmNames) {
-                AlgorithmTestResult algResult = testResult.algorithmResults.get(algName);
-                if (algResult.implemented && algResult.passed && algResult.executionTimeNanos < fastestTime) {
-                    fastestTime = algResult.executionTimeNanos;
-                    fastestAlg = algName;
-                }
-            }
+            String[] ranking = fastestTwo(testResult);
+            String fastestAlg = ranking[0];
+            boolean significant = isSignificant(testResult, ranking);
 
             for (String algName : algorithmNames) {
                 AlgorithmTestResult algResult = testResult.algorithmResults.get(algName);
@@ -187,8 +225,15 @@ public class ManualTestRunner {
                 System.out.print(padRight(display, timeWidth));
             }
 
-            // Winner column
-            String winner = fastestAlg != null ? GREEN + "🏆 " + fastestAlg + RESET : "None";
+            // Winner column: only a statistically significant lead counts as a win
+            String winner;
+            if (fastestAlg == null) {
+                winner = "None";
+            } else if (significant) {
+                winner = GREEN + "🏆 " + fastestAlg + RESET;
+            } else {
+                winner = YELLOW + "≈ " + fastestAlg + "/" + ranking[1] + RESET;
+            }
             System.out.print(padRight(winner, winnerWidth));
             System.out.println();
         }
@@ -197,6 +242,132 @@ public class ManualTestRunner {
 
         // Print summary statistics
         printSummaryStatistics(results, algorithmNames);
+        System.out.printf("'≈ A/B' = A was fastest but not significantly faster than B (Mann-Whitney p >= %.2f)%n", SIGNIFICANCE);
+
+        if (SearchCounters.ENABLED) {
+            printCounters(results);
+        } else {
+            System.out.println("(Run with -D" + SearchCounters.PROPERTY + "=true for comparison / shift counters per engine)");
+        }
+    }
+
+    /**
+     * Print the hot-path counters of every algorithm next to its time:
+     * comparisons (total and per text char), shifts and their average length,
+     * RabinKarp hash hits / spurious hits, BoyerMoore bad-char / good-suffix / tied shifts
+     */
+    public static void printCounters(List<TestExecutionResult> results) {
+        System.out.println();
+        printSeparator(132, 0, 0, 0);
+        System.out.println("SEARCH COUNTERS (one untimed run per algorithm)");
+        printSeparator(132, 0, 0, 0);
+        System.out.printf("%-28s %-14s %11s %13s %8s %11s %9s %9s %9s %8s %8s %6s%n",
+                "Test Case", "Algorithm", "Time (μs)", "Comparisons", "Cmp/char", "Shifts", "Avg shift",
+                "Hash hits", "Spurious", "BC wins", "GS wins", "Ties");
+        printSeparator(132, 0, 0, 0);
+
+        for (TestExecutionResult testResult : results) {
+            String testName = truncate(testResult.testCase.getName(), 27);
+            int n = Math.max(1, testResult.testCase.getText().length());
+            for (Map.Entry<String, AlgorithmTestResult> entry : testResult.algorithmResults.entrySet()) {
+                AlgorithmTestResult algResult = entry.getValue();
+                SearchCounters c = algResult.counters;
+                if (c == null) {
+                    continue;
+                }
+                System.out.printf("%-28s %-14s %11.3f %13d %8.2f %11d %9.2f %9s %9s %8s %8s %6s%n",
+                        testName, truncate(entry.getKey(), 14),
+                        algResult.executionTimeNanos / 1000.0,
+                        c.getComparisons(), (double) c.getComparisons() / n,
+                        c.getShifts(), c.averageShift(),
+                        orDash(c.getHashHits()), orDash(c.getSpuriousHits()),
+                        orDash(c.getBadCharWins()), orDash(c.getGoodSuffixWins()), orDash(c.getRuleTies()));
+                testName = "";
+            }
+        }
+        printSeparator(132, 0, 0, 0);
+    }
+
+    private static String orDash(long value) {
+        return value == 0 ? "-" : String.valueOf(value);
+    }
+
+    /**
+     * Fastest and second fastest passing algorithm of a test (null if missing)
+     */
+    static String[] fastestTwo(TestExecutionResult testResult) {
+        String first = null;
+        String second = null;
+        for (Map.Entry<String, AlgorithmTestResult> entry : testResult.algorithmResults.entrySet()) {
+            AlgorithmTestResult algResult = entry.getValue();
+            if (!algResult.implemented || !algResult.passed) {
+                continue;
+            }
+            if (first == null || algResult.executionTimeNanos < testResult.algorithmResults.get(first).executionTimeNanos) {
+                second = first;
+                first = entry.getKey();
+            } else if (second == null || algResult.executionTimeNanos < testResult.algorithmResults.get(second).executionTimeNanos) {
+                second = entry.getKey();
+            }
+        }
+        return new String[] { first, second };
+    }
+
+    /**
+     * True if the fastest algorithm is significantly faster than the runner-up
+     */
+    static boolean isSignificant(TestExecutionResult testResult, String[] ranking) {
+        if (ranking[0] == null || ranking[1] == null) {
+            return ranking[0] != null; // no competitor
+        }
+        return mannWhitneyP(testResult, ranking) < SIGNIFICANCE;
+    }
+
+    private static double mannWhitneyP(TestExecutionResult testResult, String[] ranking) {
+        if (ranking[0] == null || ranking[1] == null) {
+            return Double.NaN;
+        }
+        return TimingStats.mannWhitneyP(testResult.algorithmResults.get(ranking[0]).stats,
+                testResult.algorithmResults.get(ranking[1]).stats);
+    }
+
+    private static boolean isAdaptive(List<TestExecutionResult> results) {
+        return !results.isEmpty() && results.get(0).adaptive;
+    }
+
+    /**
+     * Print the timing distribution of every algorithm on every test:
+     * median with 95% confidence interval, p90, p99, CV and rejected outliers
+     */
+    public static void printTimingDistribution(List<TestExecutionResult> results) {
+        System.out.println();
+        printSeparator(120, 0, 0, 0);
+        System.out.println("TIMING DISTRIBUTION (per call, μs)");
+        printSeparator(120, 0, 0, 0);
+        System.out.printf("%-28s %-14s %10s %21s %10s %10s %7s %8s %6s %7s%n",
+                "Test Case", "Algorithm", "Median", "95% CI", "p90", "p99", "CV", "Samples", "Batch", "Outl.");
+        printSeparator(120, 0, 0, 0);
+
+        for (TestExecutionResult testResult : results) {
+            String testName = truncate(testResult.testCase.getName(), 27);
+            for (Map.Entry<String, AlgorithmTestResult> entry : testResult.algorithmResults.entrySet()) {
+                TimingStats stats = entry.getValue().stats;
+                if (stats == null) {
+                    continue;
+                }
+                double[] ci = stats.medianConfidenceInterval();
+                System.out.printf("%-28s %-14s %10.3f %21s %10.3f %10.3f %6.1f%% %8d %6d %7d%n",
+                        testName, truncate(entry.getKey(), 14),
+                        stats.median() / 1000.0,
+                        String.format("[%.3f, %.3f]", ci[0] / 1000.0, ci[1] / 1000.0),
+                        stats.percentile(0.90) / 1000.0,
+                        stats.percentile(0.99) / 1000.0,
+                        stats.cv() * 100,
+                        stats.sampleCount(), stats.batchSize(), stats.outlierCount());
+                testName = "";
+            }
+        }
+        printSeparator(120, 0, 0, 0);
     }
     
     /**
@@ -262,24 +433,20 @@ public class ManualTestRunner {
         System.out.println("FASTEST ALGORITHM COMPARISON");
         printSeparator(80, 0, 0, 0);
         
-        System.out.printf("%-30s %-20s %-15s\n", "Test Case", "Fastest Algorithm", "Time (μs)");
+        System.out.printf("%-30s %-20s %-12s %-16s\n", "Test Case", "Fastest Algorithm", "Time (μs)", "p vs runner-up");
         printSeparator(80, 0, 0, 0);
         
         for (TestExecutionResult testResult : results) {
-            String fastestAlg = null;
-            long fastestTime = Long.MAX_VALUE;
-            
-            for (Map.Entry<String, AlgorithmTestResult> entry : testResult.algorithmResults.entrySet()) {
-                AlgorithmTestResult algResult = entry.getValue();
-                if (algResult.implemented && algResult.passed && algResult.executionTimeNanos < fastestTime) {
-                    fastestTime = algResult.executionTimeNanos;
-                    fastestAlg = entry.getKey();
-                }
-            }
+            String[] ranking = fastestTwo(testResult);
+            String fastestAlg = ranking[0];
             
             String testName = truncate(testResult.testCase.getName(), 29);
             if (fastestAlg != null) {
-                System.out.printf("%-30s %-20s %.3f\n", testName, fastestAlg, fastestTime / 1000.0);
+                long fastestTime = testResult.algorithmResults.get(fastestAlg).executionTimeNanos;
+                double p = mannWhitneyP(testResult, ranking);
+                String verdict = Double.isNaN(p) ? "-"
+                        : String.format("%.4f %s", p, p < SIGNIFICANCE ? "✓" : "≈ " + ranking[1]);
+                System.out.printf("%-30s %-20s %-12.3f %s\n", testName, fastestAlg, fastestTime / 1000.0, verdict);
             } else {
                 System.out.printf("%-30s %-20s %s\n", testName, "None", "-");
             }
@@ -326,4 +493,3 @@ public class ManualTestRunner {
         return s.substring(0, maxLength - 2) + "..";
     }
 }
-
@@ -1,5 +1,13 @@
+package stringmatching.harness;
+
 import java.util.*;
 
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.PreAnalysis;
+import stringmatching.core.PreAnalysisPolicy;
+import stringmatching.core.Solution;
+import stringmatching.core.TextSample;
+
 /**
  * Compares the performance of using pre-analysis vs running all algorithms
  */
@@ -10,8 +18,11 @@ public class PreAnalysisComparison {
      */
     public static class ComparisonResult {
         String testCaseName;
+        int textLength;
+        boolean analysisSkipped; // text below the policy threshold, fallback algorithm used
         String chosenAlgorithm;
         long preAnalysisTimeNanos;
+        long samplingTimeNanos; // part of preAnalysisTimeNanos spent sampling the text
         long chosenAlgorithmTimeNanos;
         long totalTimeWithPreAnalysis;
         Map<String, Long> allAlgorithmTimes;
@@ -33,6 +44,7 @@ public class PreAnalysisComparison {
      */
     public static List<ComparisonResult> runComparison(PreAnalysis preAnalysis, List<TestCase> testCases) {
         List<ComparisonResult> results = new ArrayList<>();
+        warmUp(preAnalysis, testCases);
         
         for (TestCase testCase : testCases) {
             ComparisonResult result = compareForTestCase(preAnalysis, testCase);
@@ -44,19 +56,54 @@ public class PreAnalysisComparison {
         return results;
     }
     
+    // Untimed decisions before the first measurement, spread over the test cases
+    private static final int WARMUP_DECISIONS = 2_000;
+
+    /**
+     * Run the strategy untimed on the test cases, so class loading and the first
+     * JIT compiles (tens of ms for the very first decision) are not charged to
+     * whichever test case happens to come first. Calls the strategy directly:
+     * warm-up decisions are not recorded as metrics or JFR events.
+     */
+    private static void warmUp(PreAnalysis preAnalysis, List<TestCase> testCases) {
+        if (testCases.isEmpty()) {
+            return;
+        }
+        PreAnalysisPolicy.current(); // loads the policy and registers its JFR event type
+        int rounds = Math.max(1, WARMUP_DECISIONS / testCases.size());
+        for (int r = 0; r < rounds; r++) {
+            for (TestCase testCase : testCases) {
+                try {
+                    preAnalysis.chooseAlgorithm(testCase.getText(), testCase.getPattern());
+                    TextSample.of(testCase.getText());
+                } catch (RuntimeException e) {
+                    return; // the timed run reports strategies that fail
+                }
+            }
+        }
+    }
+
     /**
      * Compare pre-analysis performance for a single test case
      * Runs each algorithm 5 times and takes average
      */
     private static ComparisonResult compareForTestCase(PreAnalysis preAnalysis, TestCase testCase) {
         ComparisonResult result = new ComparisonResult(testCase.getName());
+        PreAnalysisPolicy policy = PreAnalysisPolicy.current();
+        result.textLength = testCase.getText().length();
+        result.analysisSkipped = !policy.shouldAnalyze(testCase.getText());
 
-        // Run pre-analysis 5 times and take average
+        // The decision itself, recorded once (metrics / JFR) outside the timed region
+        String chosenAlgorithm = policy.choose(preAnalysis, testCase.getText(), testCase.getPattern());
+
+        // Time the strategy 5 times and take average (only the policy check when skipped);
+        // calls it directly so no recording overhead lands in the measured cost
         long totalAnalysisTime = 0;
-        String chosenAlgorithm = null;
         for (int i = 0; i < 5; i++) {
             long analysisStart = System.nanoTime();
-            chosenAlgorithm = preAnalysis.chooseAlgorithm(testCase.getText(), testCase.getPattern());
+            if (policy.shouldAnalyze(testCase.getText())) {
+                preAnalysis.chooseAlgorithm(testCase.getText(), testCase.getPattern());
+            }
             long analysisEnd = System.nanoTime();
             totalAnalysisTime += (analysisEnd - analysisStart);
         }
@@ -64,6 +111,16 @@ public class PreAnalysisComparison {
         result.preAnalysisTimeNanos = totalAnalysisTime / 5;
         result.chosenAlgorithm = chosenAlgorithm;
 
+        // Time the bounded text sampler on its own (5 runs, average)
+        long totalSamplingTime = 0;
+        for (int i = 0; i < 5 && !result.analysisSkipped; i++) {
+            long samplingStart = System.nanoTime();
+            TextSample.of(testCase.getText());
+            long samplingEnd = System.nanoTime();
+            totalSamplingTime += (samplingEnd - samplingStart);
+        }
+        result.samplingTimeNanos = totalSamplingTime / 5;
+
         // If pre-analysis returns null, skip this test case
         if (chosenAlgorithm == null) {
             return null;
@@ -71,7 +128,7 @@ public class PreAnalysisComparison {
 
         // Run the chosen algorithm 5 times and take average
         try {
-            Solution chosenSolution = createSolutionByName(chosenAlgorithm);
+            Solution chosenSolution = AlgorithmRegistry.get(chosenAlgorithm);
             // Warm up
             chosenSolution.Solve(testCase.getText(), testCase.getPattern());
 
@@ -86,6 +143,12 @@ public class PreAnalysisComparison {
             result.chosenAlgorithmTimeNanos = totalChosenTime / 5;
             result.totalTimeWithPreAnalysis = result.preAnalysisTimeNanos + result.chosenAlgorithmTimeNanos;
 
+            // Let learning strategies see how their choice performed
+            if (!result.analysisSkipped) {
+                preAnalysis.recordExecution(testCase.getText(), testCase.getPattern(),
+                        chosenAlgorithm, result.chosenAlgorithmTimeNanos);
+            }
+
         } catch (Exception e) {
             return null; // Skip if chosen algorithm fails
         }
@@ -97,12 +160,11 @@ public class PreAnalysisComparison {
         result.allAlgorithmTimes.put(chosenAlgorithm, result.chosenAlgorithmTimeNanos);
         result.allAlgorithmNames.add(chosenAlgorithm);
 
-        for (Class<? extends Solution> algorithmClass : Solution.SUBCLASSES) {
-            String algName = algorithmClass.getSimpleName();
+        for (Solution solution : AlgorithmRegistry.all()) {
+            String algName = solution.getName();
 
             if (!algName.equals(chosenAlgorithm)) {
                 try {
-                    Solution solution = algorithmClass.getDeclaredConstructor().newInstance();
                     // Warm up
                     solution.Solve(testCase.getText(), testCase.getPattern());
 
@@ -138,19 +200,20 @@ public class PreAnalysisComparison {
         // Positive means we saved time, negative means we lost time
         result.timeSavedOrLost = minTime - result.totalTimeWithPreAnalysis;
 
-        return result;
-    }
-    
-    /**
-     * Create a solution instance by algorithm name
-     */
-    private static Solution createSolutionByName(String name) throws Exception {
-        for (Class<? extends Solution> algorithmClass : Solution.SUBCLASSES) {
-            if (algorithmClass.getSimpleName().equals(name)) {
-                return algorithmClass.getDeclaredConstructor().newInstance();
-            }
+        PreAnalysisOutcomeEvent event = new PreAnalysisOutcomeEvent();
+        if (event.shouldCommit()) {
+            event.testCase = testCase.getName();
+            event.strategy = preAnalysis.getClass().getSimpleName();
+            event.chosenAlgorithm = chosenAlgorithm;
+            event.fastestAlgorithm = fastestAlg;
+            event.choseFastest = result.preAnalysisChoseFastest;
+            event.analysisTime = result.preAnalysisTimeNanos;
+            event.chosenTime = result.chosenAlgorithmTimeNanos;
+            event.fastestTime = minTime;
+            event.commit();
         }
-        throw new IllegalArgumentException("Algorithm not found: " + name);
+
+        return result;
     }
     
     /**
@@ -170,11 +233,12 @@ public class PreAnalysisComparison {
         System.out.println("\n" + "=".repeat(120));
         System.out.println("PRE-ANALYSIS PERFORMANCE COMPARISON");
         System.out.println("Strategy: " + preAnalysis.getStrategyDescription());
+        System.out.println("Policy: " + PreAnalysisPolicy.current());
         System.out.println("=".repeat(120));
         
         // Print header
-        System.out.printf("%-25s %-12s %-12s %-12s %-12s %-15s %-15s%n",
-                "Test Case", "Chosen Alg", "Analysis(μs)", "Exec(μs)", "Total(μs)", "Fastest Alg", "Time Diff(μs)");
+        System.out.printf("%-25s %-12s %-12s %-12s %-12s %-12s %-15s %-15s%n",
+                "Test Case", "Chosen Alg", "Analysis(μs)", "Sample(μs)", "Exec(μs)", "Total(μs)", "Fastest Alg", "Time Diff(μs)");
         System.out.println("-".repeat(120));
         
         // Print results for each test case
@@ -183,6 +247,7 @@ public class PreAnalysisComparison {
         
         for (ComparisonResult result : results) {
             double analysisTimeUs = result.preAnalysisTimeNanos / 1000.0;
+            double samplingTimeUs = result.samplingTimeNanos / 1000.0;
             double execTimeUs = result.chosenAlgorithmTimeNanos / 1000.0;
             double totalTimeUs = result.totalTimeWithPreAnalysis / 1000.0;
             double timeDiffUs = -result.timeSavedOrLost / 1000.0; // Negative because we want to show saved as positive
@@ -195,10 +260,11 @@ public class PreAnalysisComparison {
                 timeDiffStr = String.format("✗ %.2f", timeDiffUs);
             }
             
-            System.out.printf("%-25s %-12s %12.2f %12.2f %12.2f %-15s %15s%n",
+            System.out.printf("%-25s %-12s %12.2f %12.2f %12.2f %12.2f %-15s %15s%n",
                     truncate(result.testCaseName, 23),
-                    truncate(result.chosenAlgorithm, 10),
+                    truncate(result.chosenAlgorithm, 10) + (result.analysisSkipped ? "*" : ""),
                     analysisTimeUs,
+                    samplingTimeUs,
                     execTimeUs,
                     totalTimeUs,
                     truncate(result.fastestAlgorithm, 13),
@@ -211,6 +277,110 @@ public class PreAnalysisComparison {
         
         // Print summary
         printSummary(results, totalTimeSaved, correctChoices);
+        printBreakEvenAnalysis(results);
+    }
+
+    // Text length buckets of the break-even table: [0,64), [64,256), ... , [65536, inf)
+    private static final int[] BUCKET_BOUNDS = { 64, 256, 1024, 4096, 16384, 65536 };
+    private static final String[] BASELINES = { "GoCrazy", "BoyerMoore" };
+
+    /**
+     * Per text-size bucket: does "pre-analysis + chosen" beat always running one fixed
+     * algorithm? Also suggests a skip-below threshold for PreAnalysisPolicy.
+     */
+    public static void printBreakEvenAnalysis(List<ComparisonResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        int buckets = BUCKET_BOUNDS.length + 1;
+        int[] count = new int[buckets];
+        long[] withAnalysis = new long[buckets];
+        long[] analysisOnly = new long[buckets];
+        long[][] baseline = new long[BASELINES.length][buckets];
+        boolean[][] missing = new boolean[BASELINES.length][buckets];
+
+        for (ComparisonResult result : results) {
+            int b = bucketOf(result.textLength);
+            count[b]++;
+            withAnalysis[b] += result.totalTimeWithPreAnalysis;
+            analysisOnly[b] += result.preAnalysisTimeNanos;
+            for (int k = 0; k < BASELINES.length; k++) {
+                Long time = result.allAlgorithmTimes.get(BASELINES[k]);
+                if (time == null) {
+                    missing[k][b] = true;
+                } else {
+                    baseline[k][b] += time;
+                }
+            }
+        }
+
+        System.out.println("\nBREAK-EVEN ANALYSIS (sum per text-size bucket, μs):");
+        System.out.println("-".repeat(120));
+        System.out.printf("%-16s %6s %14s %14s", "Text length", "Tests", "Analysis", "PreA+Chosen");
+        for (String name : BASELINES) {
+            System.out.printf(" %18s %-14s", "Always " + name, "Verdict");
+        }
+        System.out.println();
+        System.out.println("-".repeat(120));
+
+        long[] totalDiff = new long[BASELINES.length];
+        int suggested = -1; // first bucket from which pre-analysis beats every baseline
+        for (int b = 0; b < buckets; b++) {
+            if (count[b] == 0) {
+                continue;
+            }
+            boolean winsAll = true;
+            System.out.printf("%-16s %6d %14.2f %14.2f", bucketLabel(b), count[b],
+                    analysisOnly[b] / 1000.0, withAnalysis[b] / 1000.0);
+            for (int k = 0; k < BASELINES.length; k++) {
+                if (missing[k][b]) {
+                    System.out.printf(" %18s %-14s", "N/A", "");
+                    continue;
+                }
+                long diff = baseline[k][b] - withAnalysis[b]; // positive = pre-analysis saved time
+                totalDiff[k] += diff;
+                winsAll &= diff > 0;
+                System.out.printf(" %18.2f %-14s", baseline[k][b] / 1000.0,
+                        diff > 0 ? "✓ PreA wins" : "✗ " + BASELINES[k]);
+            }
+            System.out.println();
+            if (!winsAll) {
+                suggested = -1;
+            } else if (suggested < 0) {
+                suggested = b;
+            }
+        }
+        System.out.println("-".repeat(120));
+
+        for (int k = 0; k < BASELINES.length; k++) {
+            double ms = totalDiff[k] / 1_000_000.0;
+            System.out.printf("%s %.4f ms in total compared to always running %s%n",
+                    ms >= 0 ? "✓ Pre-analysis SAVED" : "✗ Pre-analysis LOST", Math.abs(ms), BASELINES[k]);
+        }
+        if (suggested < 0) {
+            System.out.println("Suggested policy: pre-analysis never pays off here, e.g. -D"
+                    + PreAnalysisPolicy.SKIP_BELOW_PROPERTY + "=" + Integer.MAX_VALUE);
+        } else {
+            int threshold = suggested == 0 ? 0 : BUCKET_BOUNDS[suggested - 1];
+            System.out.println("Suggested policy: -D" + PreAnalysisPolicy.SKIP_BELOW_PROPERTY + "=" + threshold
+                    + (threshold == 0 ? " (pre-analysis pays off for every size)" : ""));
+        }
+        System.out.println("Current policy:   " + PreAnalysisPolicy.current()
+                + (PreAnalysisPolicy.current().getSkipBelow() > 0 ? " ('*' marks skipped tests)" : ""));
+        System.out.println("=".repeat(120));
+    }
+
+    private static int bucketOf(int textLength) {
+        int b = 0;
+        while (b < BUCKET_BOUNDS.length && textLength >= BUCKET_BOUNDS[b]) {
+            b++;
+        }
+        return b;
+    }
+
+    private static String bucketLabel(int b) {
+        int lo = b == 0 ? 0 : BUCKET_BOUNDS[b - 1];
+        return b == BUCKET_BOUNDS.length ? ">= " + lo : lo + " - " + (BUCKET_BOUNDS[b] - 1);
     }
     
     /**
@@ -226,6 +396,15 @@ public class PreAnalysisComparison {
         
         System.out.printf("Total test cases analyzed: %d%n", results.size());
         System.out.printf("Correct algorithm choices: %d / %d (%.1f%%)%n", correctChoices, results.size(), accuracyPercent);
+
+        long totalSampling = 0;
+        long maxSampling = 0;
+        for (ComparisonResult result : results) {
+            totalSampling += result.samplingTimeNanos;
+            maxSampling = Math.max(maxSampling, result.samplingTimeNanos);
+        }
+        System.out.printf("Text sampling cost: avg %.2f μs, max %.2f μs (budget %d chars per text)%n",
+                totalSampling / 1000.0 / results.size(), maxSampling / 1000.0, TextSample.BUDGET);
         System.out.println();
         
         if (totalTimeSavedMs > 0) {
@@ -243,6 +422,7 @@ public class PreAnalysisComparison {
         System.out.println();
         System.out.println("INTERPRETATION:");
         System.out.println("- 'Analysis(μs)': Time spent in pre-analysis choosing algorithm");
+        System.out.println("- 'Sample(μs)': Part of the analysis time spent sampling the text");
         System.out.println("- 'Exec(μs)': Time spent executing the chosen algorithm");
         System.out.println("- 'Total(μs)': Analysis + Execution time");
         System.out.println("- 'Fastest Alg': The actually fastest algorithm for this test case");
@@ -364,4 +544,3 @@ public class PreAnalysisComparison {
         return s + " ".repeat(padding);
     }
 }
-
@@ -0,0 +1,49 @@
+package stringmatching.harness;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event with the outcome of one pre-analysis decision:
+ * the chosen algorithm against the fastest one, as measured by PreAnalysisComparison.
+ * No threshold: one event per compared test case.
+ */
+@Name("stringmatching.PreAnalysisOutcome")
+@Label("Pre-Analysis Outcome")
+@Category("String Matching")
+@Description("Chosen vs fastest algorithm of a pre-analysis comparison run")
+@StackTrace(false)
+final class PreAnalysisOutcomeEvent extends Event {
+
+    @Label("Test Case")
+    String testCase;
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Chosen Algorithm")
+    String chosenAlgorithm;
+
+    @Label("Fastest Algorithm")
+    String fastestAlgorithm;
+
+    @Label("Chose Fastest")
+    boolean choseFastest;
+
+    @Label("Analysis Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long analysisTime;
+
+    @Label("Chosen Algorithm Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long chosenTime;
+
+    @Label("Fastest Algorithm Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fastestTime;
+}
@@ -0,0 +1,128 @@
+package stringmatching.harness;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Represents a test case for string matching algorithms.
+ * Test cases are now loaded from JSON files in the testcases/ directory.
+ * See TestCaseLoader.java for loading test cases from files.
+ *
+ * A case created by TestCaseLoader.indexTestCasesFromDirectory only knows its
+ * file and size (and its name, for binary corpora); the rest is loaded the first
+ * time a field is read (or by TestCaseLoader.loadInParallel), so unused cases
+ * never hold their text.
+ */
+public class TestCase {
+    private String name;
+    private String text;
+    private String pattern;
+    private String expectedResult;
+
+    private final Path source;     // null for cases built in memory
+    private final long sizeBytes;
+    private final Loader loader;   // null for cases built in memory
+    private volatile boolean loaded;
+
+    /**
+     * Produces the fully loaded case behind a lazy one
+     */
+    interface Loader {
+        TestCase load() throws IOException;
+    }
+
+    public TestCase(String name, String text, String pattern, String expectedResult) {
+        this.name = name;
+        this.text = text;
+        this.pattern = pattern;
+        this.expectedResult = expectedResult;
+        this.source = null;
+        this.sizeBytes = text.length();
+        this.loader = null;
+        this.loaded = true;
+    }
+
+    /**
+     * Lazy case; name may be null when it is only known after loading
+     */
+    TestCase(String name, Path source, long sizeBytes, Loader loader) {
+        this.name = name;
+        this.source = source;
+        this.sizeBytes = sizeBytes;
+        this.loader = loader;
+    }
+
+    /**
+     * Load the backing data if that has not happened yet
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid test case
+     */
+    public void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    try {
+                        TestCase parsed = loader.load();
+                        name = parsed.name;
+                        text = parsed.text;
+                        pattern = parsed.pattern;
+                        expectedResult = parsed.expectedResult;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot read test case " + source, e);
+                    }
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * File the case comes from, or null
+     */
+    public Path getSource() {
+        return source;
+    }
+
+    /**
+     * Stored size for lazy cases, text length otherwise
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getName() {
+        if (name == null) load();
+        return name;
+    }
+
+    public String getText() {
+        load();
+        return text;
+    }
+
+    public String getPattern() {
+        load();
+        return pattern;
+    }
+
+    public String getExpectedResult() {
+        load();
+        return expectedResult;
+    }
+
+
+
+    @Override
+    public String toString() {
+        if (!loaded) {
+            return String.format("TestCase{file='%s', size=%d, not loaded}", source.getFileName(), sizeBytes);
+        }
+        return String.format("TestCase{name='%s', textLen=%d, patternLen=%d}",
+                           name, text.length(), pattern.length());
+    }
+}
@@ -0,0 +1,208 @@
+package stringmatching.harness;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads test cases from JSON / JSON Lines files and binary corpora (.smc) in the testcases directory
+ */
+public class TestCaseLoader {
+    
+    private static final String TESTCASES_DIR = "testcases";
+    private static final String SHARED_DIR = "shared";
+    private static final String HIDDEN_DIR = "hidden";
+    
+    /**
+     * Load all test cases from both shared and hidden directories
+     */
+    public static List<TestCase> loadAllTestCases() {
+        List<TestCase> allTests = new ArrayList<>();
+        allTests.addAll(loadTestCasesFromDirectory(SHARED_DIR));
+        allTests.addAll(loadTestCasesFromDirectory(HIDDEN_DIR));
+        return allTests;
+    }
+    
+    /**
+     * Load only shared test cases (for students)
+     */
+    public static List<TestCase> loadSharedTestCases() {
+        return loadTestCasesFromDirectory(SHARED_DIR);
+    }
+    
+    /**
+     * Load only hidden test cases (for grading)
+     */
+    public static List<TestCase> loadHiddenTestCases() {
+        return loadTestCasesFromDirectory(HIDDEN_DIR);
+    }
+    
+    /**
+     * Index only shared test cases: files are parsed when first used
+     */
+    public static List<TestCase> indexSharedTestCases() {
+        return indexTestCasesFromDirectory(SHARED_DIR);
+    }
+
+    /**
+     * Index only hidden test cases: files are parsed when first used
+     */
+    public static List<TestCase> indexHiddenTestCases() {
+        return indexTestCasesFromDirectory(HIDDEN_DIR);
+    }
+
+    /**
+     * Load test cases from a specific directory (files are parsed in parallel)
+     */
+    public static List<TestCase> loadTestCasesFromDirectory(String subDir) {
+        List<TestCase> testCases = new ArrayList<>();
+        List<List<TestCase>> perFile = listTestCaseFiles(subDir).parallelStream()
+            .map(TestCaseLoader::loadFileOrReport)
+            .collect(Collectors.toList());
+        for (List<TestCase> cases : perFile) {
+            testCases.addAll(cases);
+        }
+        return testCases;
+    }
+
+    /**
+     * Index test cases of a directory by file name and size without parsing them.
+     * Single-case .json files and the cases of .smc corpora become lazy TestCases;
+     * .jsonl files and JSON arrays (several cases per file) are parsed right away.
+     */
+    public static List<TestCase> indexTestCasesFromDirectory(String subDir) {
+        List<TestCase> testCases = new ArrayList<>();
+        for (Path file : listTestCaseFiles(subDir)) {
+            try {
+                if (file.toString().endsWith(".smc")) {
+                    testCases.addAll(CorpusFile.index(file));
+                } else if (file.toString().endsWith(".json") && !startsWithArray(file)) {
+                    testCases.add(new TestCase(null, file, Files.size(file), () -> loadTestCaseFromFile(file)));
+                } else {
+                    testCases.addAll(loadTestCasesFromFile(file));
+                }
+            } catch (Exception e) {
+                System.err.println("Error loading test case from " + file + ": " + e.getMessage());
+            }
+        }
+        return testCases;
+    }
+
+    /**
+     * Parse the given (possibly lazy) test cases in parallel.
+     * Cases whose file cannot be parsed are reported and left out of the result.
+     */
+    public static List<TestCase> loadInParallel(List<TestCase> testCases) {
+        return testCases.parallelStream()
+            .filter(TestCaseLoader::loadCaseOrReport)
+            .collect(Collectors.toList());
+    }
+
+    private static boolean loadCaseOrReport(TestCase testCase) {
+        try {
+            testCase.load();
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error loading test case from " + testCase.getSource() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static List<TestCase> loadFileOrReport(Path file) {
+        try {
+            return loadTestCasesFromFile(file);
+        } catch (Exception e) {
+            System.err.println("Error loading test case from " + file + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Sorted .json / .jsonl / .smc files of testcases/<subDir> (or ../testcases/<subDir>)
+    private static List<Path> listTestCaseFiles(String subDir) {
+        // Try multiple possible paths (for running from different directories)
+        Path dirPath = Paths.get(TESTCASES_DIR, subDir);
+        if (!Files.exists(dirPath)) {
+            dirPath = Paths.get("..", TESTCASES_DIR, subDir);
+        }
+
+        if (!Files.exists(dirPath)) {
+            System.err.println("Warning: Directory does not exist: " + TESTCASES_DIR + "/" + subDir);
+            System.err.println("         Tried: " + Paths.get(TESTCASES_DIR, subDir).toAbsolutePath());
+            System.err.println("         And: " + Paths.get("..", TESTCASES_DIR, subDir).toAbsolutePath());
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> paths = Files.walk(dirPath, 1)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(TestCaseLoader::isTestCaseFile)
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.err.println("Error reading directory " + dirPath + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static boolean isTestCaseFile(Path file) {
+        String name = file.toString();
+        return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".smc");
+    }
+
+    // First non-whitespace byte is '[' (a file with several cases)
+    private static boolean startsWithArray(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int b;
+            while ((b = in.read()) == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                // skip
+            }
+            return b == '[';
+        }
+    }
+    
+    /**
+     * Load a single test case from a JSON file
+     */
+    public static TestCase loadTestCaseFromFile(Path filePath) throws IOException {
+        try (JsonTestCaseReader reader = JsonTestCaseReader.open(filePath)) {
+            TestCase testCase = reader.next();
+            if (testCase == null) {
+                throw new IllegalArgumentException("No test case in " + filePath.getFileName());
+            }
+            return testCase;
+        }
+    }
+
+    /**
+     * Load every test case of a .json file (one object or an array), a .jsonl file
+     * (one object per line) or a binary .smc corpus
+     */
+    public static List<TestCase> loadTestCasesFromFile(Path filePath) throws IOException {
+        if (filePath.toString().endsWith(".smc")) {
+            return CorpusFile.readAll(filePath);
+        }
+        return JsonTestCaseReader.readAll(filePath);
+    }
+    
+    /**
+     * Print how many shared and hidden test cases there are, counted from an index
+     * already built with indexSharedTestCases / indexHiddenTestCases (nothing is re-read)
+     */
+    public static void printTestCaseInfo(List<TestCase> sharedTestCases, List<TestCase> hiddenTestCases) {
+        int sharedCount = sharedTestCases.size();
+        int hiddenCount = hiddenTestCases.size();
+        int totalCount = sharedCount + hiddenCount;
+        
+        System.out.println("Test Cases Available:");
+        System.out.println("  📚 Shared tests (for students): " + sharedCount);
+        System.out.println("  🔒 Hidden tests (for grading): " + hiddenCount);
+        System.out.println("  📊 Total tests: " + totalCount);
+        System.out.println();
+    }
+}
@@ -1,10 +1,28 @@
-import java.lang.reflect.Constructor;
+package stringmatching.harness;
+
 import java.util.*;
 
+import stringmatching.core.AlgorithmRegistry;
+import stringmatching.core.PatternCache;
+import stringmatching.core.PreAnalysis;
+import stringmatching.core.PreAnalysisPolicy;
+import stringmatching.core.PreparedPattern;
+import stringmatching.core.SearchMetrics;
+import stringmatching.core.Solution;
+
 /**
  * Runs test cases and generates comparison tables
  */
 public class TestRunner {
+
+    /**
+     * Shared cache of pre-analysis decisions and prepared pattern tables (64 MB cap)
+     */
+    static final PatternCache PATTERN_CACHE = new PatternCache(64L << 20);
+
+    static {
+        SearchMetrics.global().registerCache("TestRunner", PATTERN_CACHE);
+    }
     
     /**
      * Result of running a single algorithm on a single test case
@@ -28,12 +46,14 @@ public class TestRunner {
      */
     public static class PreAnalysisResult {
         String chosenAlgorithm;
+        boolean analysisSkipped; // text below the PreAnalysisPolicy threshold
         long analysisTimeNanos;
         long algorithmExecutionTimeNanos;
         boolean success;
         String result;
         
-        // For comparison: what if we had used a different algorithm?
+        // For comparison: what if we had used a different algorithm? Timed like the
+        // chosen one (search with tables built beforehand, preprocessing not included)
         Map<String, Long> alternativeExecutionTimes = new HashMap<>();
     }
     
@@ -42,11 +62,11 @@ public class TestRunner {
      */
     public static List<TestResult> runAllTests(List<TestCase> testCases) {
         List<TestResult> results = new ArrayList<>();
-        Set<Class<? extends Solution>> algorithms = Solution.SUBCLASSES;
+        List<Solution> algorithms = AlgorithmRegistry.all();
         
         for (TestCase testCase : testCases) {
-            for (Class<? extends Solution> algorithmClass : algorithms) {
-                TestResult result = runSingleTest(algorithmClass, testCase);
+            for (Solution solution : algorithms) {
+                TestResult result = runSingleTest(solution, testCase);
                 results.add(result);
             }
         }
@@ -57,13 +77,10 @@ public class TestRunner {
     /**
      * Run a single algorithm on a single test case
      */
-    private static TestResult runSingleTest(Class<? extends Solution> algorithmClass, TestCase testCase) {
-        TestResult result = new TestResult(algorithmClass.getSimpleName(), testCase.getName());
+    private static TestResult runSingleTest(Solution solution, TestCase testCase) {
+        TestResult result = new TestResult(solution.getName(), testCase.getName());
         
         try {
-            Constructor<? extends Solution> constructor = algorithmClass.getDeclaredConstructor();
-            Solution solution = constructor.newInstance();
-            
             long startTime = System.nanoTime();
             String output = solution.Solve(testCase.getText(), testCase.getPattern());
             long endTime = System.nanoTime();
@@ -89,38 +106,52 @@ public class TestRunner {
     public static PreAnalysisResult runWithPreAnalysis(PreAnalysis preAnalysis, TestCase testCase) {
         PreAnalysisResult result = new PreAnalysisResult();
         
-        // Run pre-analysis
+        // Run pre-analysis through the policy (a repeated pattern is answered from the
+        // cache together with its tables, short texts get the fallback algorithm)
+        PreparedPattern prepared;
         long analysisStart = System.nanoTime();
-        String chosenAlgorithm = preAnalysis.chooseAlgorithm(testCase.getText(), testCase.getPattern());
+        try {
+            PreAnalysisPolicy policy = PreAnalysisPolicy.current();
+            result.analysisSkipped = !policy.shouldAnalyze(testCase.getText());
+            prepared = policy.choosePrepared(preAnalysis, PATTERN_CACHE, testCase.getText(), testCase.getPattern(),
+                    AlgorithmRegistry::get);
+        } catch (IllegalArgumentException e) {
+            result.success = false;
+            return result;
+        }
         long analysisEnd = System.nanoTime();
         
         result.analysisTimeNanos = analysisEnd - analysisStart;
-        result.chosenAlgorithm = chosenAlgorithm;
         
-        if (chosenAlgorithm == null) {
+        if (prepared == null) {
             result.success = false;
             return result;
         }
+        String chosenAlgorithm = prepared.getAlgorithmName();
+        result.chosenAlgorithm = chosenAlgorithm;
         
         // Execute the chosen algorithm
         try {
-            Solution solution = createSolutionByName(chosenAlgorithm);
             long execStart = System.nanoTime();
-            String output = solution.Solve(testCase.getText(), testCase.getPattern());
+            String output = prepared.solve(testCase.getText());
             long execEnd = System.nanoTime();
             
             result.algorithmExecutionTimeNanos = execEnd - execStart;
             result.result = output;
             result.success = output.equals(testCase.getExpectedResult());
+            if (!result.analysisSkipped) {
+                preAnalysis.recordExecution(testCase.getText(), testCase.getPattern(),
+                        chosenAlgorithm, result.algorithmExecutionTimeNanos);
+            }
             
             // Also run other algorithms for comparison
-            for (Class<? extends Solution> algorithmClass : Solution.SUBCLASSES) {
-                String algName = algorithmClass.getSimpleName();
+            for (Solution altSolution : AlgorithmRegistry.all()) {
+                String algName = altSolution.getName();
                 if (!algName.equals(chosenAlgorithm)) {
                     try {
-                        Solution altSolution = algorithmClass.getDeclaredConstructor().newInstance();
+                        PreparedPattern alternative = altSolution.prepare(testCase.getPattern());
                         long altStart = System.nanoTime();
-                        altSolution.Solve(testCase.getText(), testCase.getPattern());
+                        alternative.solve(testCase.getText());
                         long altEnd = System.nanoTime();
                         result.alternativeExecutionTimes.put(algName, altEnd - altStart);
                     } catch (Exception e) {
@@ -136,18 +167,6 @@ public class TestRunner {
         return result;
     }
     
-    /**
-     * Create a solution instance by algorithm name
-     */
-    private static Solution createSolutionByName(String name) throws Exception {
-        for (Class<? extends Solution> algorithmClass : Solution.SUBCLASSES) {
-            if (algorithmClass.getSimpleName().equals(name)) {
-                return algorithmClass.getDeclaredConstructor().newInstance();
-            }
-        }
-        throw new IllegalArgumentException("Algorithm not found: " + name);
-    }
-    
     /**
      * Generate a comparison table showing which algorithms solved which test cases
      */
@@ -265,4 +284,3 @@ public class TestRunner {
         return str.substring(0, maxLength - 2) + "..";
     }
 }
-
@@ -0,0 +1,203 @@
+package stringmatching.harness;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Robust summary of repeated timings of one algorithm on one test.
+ *
+ * Percentiles and the median are taken over all samples; outliers (beyond
+ * Q3 + 3 * IQR, e.g. a GC pause or a JIT compile) are counted and left out of
+ * the mean and the coefficient of variation. The 95% confidence interval of
+ * the median uses the binomial order-statistic ranks, so it needs no normality
+ * assumption. Two algorithms are compared with a Mann-Whitney U test.
+ */
+public class TimingStats {
+
+    // Adaptive measurement limits
+    private static final int WARMUP_WINDOW = 10;
+    private static final int MAX_WARMUP_WINDOWS = 50;
+    private static final double CV_STABLE_DELTA = 0.10; // relative change of CV between windows
+    private static final double CV_STABLE = 0.05;       // low enough to stop warming up at once
+    private static final long MIN_SAMPLE_NANOS = 2_000; // batch tiny calls up to this per sample
+    private static final int MIN_SAMPLES = 30;
+    private static final int MAX_SAMPLES = 300;
+    private static final long SAMPLE_BUDGET_NANOS = 50_000_000L;
+
+    private final long[] sorted;  // per-call nanos, ascending
+    private final int outliers;
+    private final double mean;    // without outliers
+    private final double stdDev;  // without outliers
+    private final int warmupRuns;
+    private final int batch;      // calls per sample
+
+    public TimingStats(long[] samples, int warmupRuns, int batch) {
+        this.sorted = samples.clone();
+        Arrays.sort(sorted);
+        this.warmupRuns = warmupRuns;
+        this.batch = batch;
+
+        double upperFence = percentile(0.75) + 3 * (percentile(0.75) - percentile(0.25));
+        int kept = 0;
+        double sum = 0;
+        for (long s : sorted) {
+            if (s <= upperFence) {
+                sum += s;
+                kept++;
+            }
+        }
+        this.outliers = sorted.length - kept;
+        this.mean = kept == 0 ? 0 : sum / kept;
+        double squares = 0;
+        for (long s : sorted) {
+            if (s <= upperFence) {
+                squares += (s - mean) * (s - mean);
+            }
+        }
+        this.stdDev = kept < 2 ? 0 : Math.sqrt(squares / (kept - 1));
+    }
+
+    /**
+     * Adaptive measurement: warm up in windows of WARMUP_WINDOW calls until the
+     * coefficient of variation stops changing, then take between MIN_SAMPLES and
+     * MAX_SAMPLES samples within SAMPLE_BUDGET_NANOS. Very fast calls are batched
+     * so that one sample lasts at least MIN_SAMPLE_NANOS.
+     */
+    public static TimingStats measure(Supplier<?> call) {
+        // Batch size so a sample is well above the timer resolution
+        int batch = 1;
+        while (batch < (1 << 20) && timeBatch(call, batch) < MIN_SAMPLE_NANOS) {
+            batch *= 2;
+        }
+
+        long[] window = new long[WARMUP_WINDOW];
+        double previousCv = Double.NaN;
+        int warmupRuns = 0;
+        for (int w = 0; w < MAX_WARMUP_WINDOWS; w++) {
+            for (int i = 0; i < WARMUP_WINDOW; i++) {
+                window[i] = timeBatch(call, batch);
+            }
+            warmupRuns += WARMUP_WINDOW * batch;
+            double cv = new TimingStats(window, 0, 1).cv();
+            if (cv < CV_STABLE
+                    || (!Double.isNaN(previousCv) && Math.abs(cv - previousCv) <= CV_STABLE_DELTA * previousCv)) {
+                break;
+            }
+            previousCv = cv;
+        }
+
+        long[] samples = new long[MAX_SAMPLES];
+        int count = 0;
+        long start = System.nanoTime();
+        while (count < MAX_SAMPLES && (count < MIN_SAMPLES || System.nanoTime() - start < SAMPLE_BUDGET_NANOS)) {
+            samples[count++] = timeBatch(call, batch) / batch;
+        }
+        return new TimingStats(Arrays.copyOf(samples, count), warmupRuns, batch);
+    }
+
+    private static long timeBatch(Supplier<?> call, int batch) {
+        long start = System.nanoTime();
+        for (int i = 0; i < batch; i++) {
+            call.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Linear-interpolated percentile, q in [0, 1]
+     */
+    public double percentile(double q) {
+        if (sorted.length == 0) return 0;
+        double pos = q * (sorted.length - 1);
+        int lo = (int) Math.floor(pos);
+        int hi = Math.min(sorted.length - 1, lo + 1);
+        return sorted[lo] + (pos - lo) * (sorted[hi] - sorted[lo]);
+    }
+
+    public double median() {
+        return percentile(0.5);
+    }
+
+    /**
+     * 95% confidence interval of the median: order statistics at ranks n/2 -+ 1.96 * sqrt(n)/2
+     */
+    public double[] medianConfidenceInterval() {
+        int n = sorted.length;
+        if (n == 0) return new double[] { 0, 0 };
+        double half = 1.96 * Math.sqrt(n) / 2;
+        int lo = Math.max(0, (int) Math.floor(n / 2.0 - half));
+        int hi = Math.min(n - 1, (int) Math.ceil(n / 2.0 + half) - 1);
+        return new double[] { sorted[lo], sorted[Math.max(lo, hi)] };
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Coefficient of variation (stdDev / mean) without outliers
+     */
+    public double cv() {
+        return mean == 0 ? 0 : stdDev / mean;
+    }
+
+    public int sampleCount() {
+        return sorted.length;
+    }
+
+    public int outlierCount() {
+        return outliers;
+    }
+
+    public int warmupRuns() {
+        return warmupRuns;
+    }
+
+    public int batchSize() {
+        return batch;
+    }
+
+    /**
+     * Two-sided p-value of the Mann-Whitney U test (normal approximation with tie
+     * correction): small values mean a and b do not come from the same distribution
+     */
+    public static double mannWhitneyP(TimingStats a, TimingStats b) {
+        int n1 = a.sorted.length;
+        int n2 = b.sorted.length;
+        if (n1 == 0 || n2 == 0) return 1.0;
+
+        // Rank the merged samples (both inputs are sorted), average ranks for ties
+        int n = n1 + n2;
+        double rankSumA = 0;
+        double tieTerm = 0;
+        int i = 0;
+        int j = 0;
+        int rank = 0;
+        while (i < n1 || j < n2) {
+            long value = j >= n2 || (i < n1 && a.sorted[i] <= b.sorted[j]) ? a.sorted[i] : b.sorted[j];
+            int fromA = 0;
+            int ties = 0;
+            while (i < n1 && a.sorted[i] == value) { i++; fromA++; ties++; }
+            while (j < n2 && b.sorted[j] == value) { j++; ties++; }
+            double averageRank = rank + (ties + 1) / 2.0;
+            rankSumA += fromA * averageRank;
+            tieTerm += (double) ties * ties * ties - ties;
+            rank += ties;
+        }
+
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double meanU = n1 * (double) n2 / 2.0;
+        double varU = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (varU <= 0) return 1.0;
+        double z = (Math.abs(u - meanU) - 0.5) / Math.sqrt(varU); // continuity correction
+        return Math.min(1.0, 2 * (1 - normalCdf(Math.max(0, z))));
+    }
+
+    // Abramowitz-Stegun 7.1.26 approximation of the standard normal CDF
+    private static double normalCdf(double z) {
+        double t = 1 / (1 + 0.3275911 * z / Math.sqrt(2));
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double erf = 1 - poly * Math.exp(-z * z / 2);
+        return 0.5 * (1 + erf);
+    }
+}
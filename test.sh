@@ -3,16 +3,27 @@
 # String Matching Algorithm Test System
 # Main entry point for running tests
 
+cd "$(dirname "$0")"
+
 echo "Compiling Java files..."
-javac src/*.java
+if command -v mvn > /dev/null; then
+    # Maven build: core + harness modules
+    mvn -q -B compile -pl harness -am
+    STATUS=$?
+    CLASSPATH="core/target/classes:harness/target/classes"
+else
+    # No Maven available: compile both modules directly
+    mkdir -p build/classes
+    javac -encoding UTF-8 -d build/classes $(find core/src/main/java harness/src/main/java -name '*.java')
+    STATUS=$?
+    CLASSPATH="build/classes"
+fi
 
-if [ $? -eq 0 ]; then
+if [ $STATUS -eq 0 ]; then
     echo "Compilation successful!"
     echo ""
-    cd src
-    java ManualTest "$@"
+    java -cp "$CLASSPATH" stringmatching.harness.ManualTest "$@"
 else
     echo "Compilation failed! Please fix the errors and try again."
     exit 1
 fi
-